@@ -0,0 +1,202 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.datamodeller.backend.server;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.persistence.Entity;
+
+import org.guvnor.common.services.project.builder.events.InvalidateDMOProjectCacheEvent;
+import org.guvnor.common.services.project.events.DeleteProjectEvent;
+import org.jboss.forge.roaster.model.JavaType;
+import org.kie.workbench.common.services.datamodeller.driver.ModelDriverException;
+import org.kie.workbench.common.services.datamodeller.driver.impl.JavaRoasterModelDriver;
+import org.kie.workbench.common.services.datamodeller.driver.model.ModelDriverResult;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+/**
+ * Cache of the parsed .java files of Project DataModels. Loading a DataModel lists the Project's .java files and
+ * parses only those that are not held; i.e. files that have been added or updated since the DataModel was last
+ * loaded. The DataObjects are built from the parsed files on each load, so every DataModel loaded has its own and
+ * the errors of a file are reported each time.
+ * <p>
+ * As the resolution of a class can depend upon the other classes of the Project a Project's entries are discarded
+ * when a .java file is deleted or renamed, or the Project's dependencies change.
+ */
+@ApplicationScoped
+public class DataModelCache {
+
+    static final int MAX_PROJECTS = 20;
+
+    private static final String JAVA_EXTENSION = ".java";
+
+    private final Map<String, ConcurrentMap<String, JavaType<?>>> projects = new LinkedHashMap<String, ConcurrentMap<String, JavaType<?>>>( 16,
+                                                                                                                                            0.75f,
+                                                                                                                                            true ) {
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry<String, ConcurrentMap<String, JavaType<?>>> eldest ) {
+            return size() > MAX_PROJECTS;
+        }
+    };
+
+    /**
+     * Loads the DataModel of a Project, parsing only the files that have changed since it was last loaded.
+     * @param project The Project
+     * @param modelDriver A driver for the Project's java source root
+     */
+    public ModelDriverResult loadModel( final KieProject project,
+                                        final JavaRoasterModelDriver modelDriver ) throws ModelDriverException {
+        return modelDriver.mergeResults( modelDriver.loadFiles( modelDriver.scanFiles(),
+                                                                getFiles( project ) ) );
+    }
+
+    /**
+     * @return The names of the Project's classes annotated with {@link Entity}. The parsed files are shared with
+     * {@link #loadModel(KieProject, JavaRoasterModelDriver)}, but no DataObjects are built and the Project's external
+     * dependencies are not needed.
+     */
+    public List<String> getPersistableClasses( final KieProject project,
+                                               final JavaRoasterModelDriver modelDriver ) throws ModelDriverException {
+        return modelDriver.findAnnotatedClasses( modelDriver.scanFiles(),
+                                                 getFiles( project ),
+                                                 Entity.class.getName() );
+    }
+
+    /**
+     * Discards the entry of a single file, which will be parsed again on the next load.
+     */
+    public void invalidateFile( final Path path ) {
+        if ( !isJavaFile( path ) ) {
+            return;
+        }
+        final ConcurrentMap<String, JavaType<?>> files = findFiles( path );
+        if ( files != null ) {
+            files.remove( path.toURI() );
+        }
+    }
+
+    /**
+     * Discards the entries of the Project containing the path.
+     */
+    public void invalidateProject( final Path path ) {
+        if ( path == null ) {
+            return;
+        }
+        synchronized ( projects ) {
+            final Iterator<String> roots = projects.keySet().iterator();
+            while ( roots.hasNext() ) {
+                if ( contains( roots.next(),
+                               path.toURI() ) ) {
+                    roots.remove();
+                }
+            }
+        }
+    }
+
+    public void onResourceAdded( @Observes final ResourceAddedEvent event ) {
+        invalidateFile( event.getPath() );
+    }
+
+    public void onResourceUpdated( @Observes final ResourceUpdatedEvent event ) {
+        invalidateFile( event.getPath() );
+    }
+
+    public void onResourceDeleted( @Observes final ResourceDeletedEvent event ) {
+        if ( isJavaFile( event.getPath() ) ) {
+            invalidateProject( event.getPath() );
+        }
+    }
+
+    public void onResourceRenamed( @Observes final ResourceRenamedEvent event ) {
+        if ( isJavaFile( event.getPath() ) || isJavaFile( event.getDestinationPath() ) ) {
+            invalidateProject( event.getPath() );
+            invalidateProject( event.getDestinationPath() );
+        }
+    }
+
+    public void onBatchResourceChanges( @Observes final ResourceBatchChangesEvent event ) {
+        for ( Path path : event.getBatch().keySet() ) {
+            if ( isJavaFile( path ) ) {
+                invalidateProject( path );
+            }
+        }
+    }
+
+    public void onInvalidateDMOProjectCache( @Observes final InvalidateDMOProjectCacheEvent event ) {
+        invalidateProject( event.getResourcePath() );
+    }
+
+    public void onDeleteProject( @Observes final DeleteProjectEvent event ) {
+        if ( event.getProject() != null ) {
+            invalidateProject( event.getProject().getRootPath() );
+        }
+    }
+
+    private ConcurrentMap<String, JavaType<?>> getFiles( final KieProject project ) {
+        synchronized ( projects ) {
+            return projects.computeIfAbsent( project.getRootPath().toURI(),
+                                             root -> new ConcurrentHashMap<String, JavaType<?>>() );
+        }
+    }
+
+    private ConcurrentMap<String, JavaType<?>> findFiles( final Path path ) {
+        synchronized ( projects ) {
+            for ( Map.Entry<String, ConcurrentMap<String, JavaType<?>>> entry : projects.entrySet() ) {
+                if ( contains( entry.getKey(),
+                               path.toURI() ) ) {
+                    return entry.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean contains( final String rootURI,
+                                     final String uri ) {
+        if ( uri.equals( rootURI ) ) {
+            return true;
+        }
+        return uri.startsWith( rootURI.endsWith( "/" ) ? rootURI : rootURI + "/" );
+    }
+
+    private static boolean isJavaFile( final Path path ) {
+        return path != null && path.getFileName() != null && path.getFileName().endsWith( JAVA_EXTENSION );
+    }
+
+    int getProjectCount() {
+        synchronized ( projects ) {
+            return projects.size();
+        }
+    }
+
+    int getFileCount( final KieProject project ) {
+        return getFiles( project ).size();
+    }
+
+}
@@ -20,16 +20,17 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.concurrent.atomic.LongAdder;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
 import javax.enterprise.inject.Any;
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.inject.Named;
-import javax.persistence.Entity;
 
 import org.drools.core.base.ClassTypeResolver;
 import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
@@ -78,7 +79,6 @@ import org.kie.workbench.common.services.datamodeller.core.PropertyType;
 import org.kie.workbench.common.services.datamodeller.core.impl.DataObjectImpl;
 import org.kie.workbench.common.services.datamodeller.core.impl.PropertyTypeFactoryImpl;
 import org.kie.workbench.common.services.datamodeller.driver.FilterHolder;
-import org.kie.workbench.common.services.datamodeller.driver.ModelDriver;
 import org.kie.workbench.common.services.datamodeller.driver.ModelDriverException;
 import org.kie.workbench.common.services.datamodeller.driver.impl.JavaRoasterModelDriver;
 import org.kie.workbench.common.services.datamodeller.driver.impl.ProjectDataModelOracleUtils;
@@ -183,8 +183,17 @@ public class DataModelerServiceImpl
     @Inject
     private FilterHolder filterHolder;
 
+    @Inject
+    private DataModelCache dataModelCache;
+
     private static final String DEFAULT_COMMIT_MESSAGE = "Data modeller generated action.";
 
+    private final LongAdder generationTime = new LongAdder();
+
+    private final LongAdder commitTime = new LongAdder();
+
+    private final LongAdder unchangedFileCount = new LongAdder();
+
     public DataModelerServiceImpl() {
     }
 
@@ -352,11 +361,12 @@ public class DataModelerServiceImpl
 
             ClassLoader classLoader = classLoaderHelper.getProjectClassLoader(project);
 
-            ModelDriver modelDriver = new JavaRoasterModelDriver(ioService,
-                                                                 Paths.convert(defaultPackage.getPackageMainSrcPath()),
-                                                                 classLoader,
-                                                                 filterHolder);
-            ModelDriverResult result = modelDriver.loadModel();
+            JavaRoasterModelDriver modelDriver = new JavaRoasterModelDriver(ioService,
+                                                                            Paths.convert(defaultPackage.getPackageMainSrcPath()),
+                                                                            classLoader,
+                                                                            filterHolder);
+            ModelDriverResult result = dataModelCache.loadModel(project,
+                                                                modelDriver);
             dataModel = result.getDataModel();
 
             if (processErrors && result.hasErrors()) {
@@ -639,6 +649,12 @@ public class DataModelerServiceImpl
                 result.setPath(path);
             }
 
+            if (packageChanged || nameChanged) {
+                dataModelCache.invalidateProject(path);
+            } else {
+                dataModelCache.invalidateFile(path);
+            }
+
             if (saveHelperInstance != null) {
                 for (DataModelerSaveHelper saveHelper : saveHelperInstance) {
                     saveHelper.postProcess(path,
@@ -863,6 +879,7 @@ public class DataModelerServiceImpl
                                _target,
                                serviceHelper.makeCommentedOption("File [" + path.toURI() + "] renamed to [" + targetPath.toURI() + "].")
                 );
+                dataModelCache.invalidateProject(path);
 
                 if (renameHelperInstance != null) {
                     for (DataModelerRenameWorkaroundHelper renameHelper : renameHelperInstance) {
@@ -922,22 +939,34 @@ public class DataModelerServiceImpl
 
         try {
 
+            //Generate the sources before starting the batch, so the file system is blocked only while they are written
+            final org.uberfire.java.nio.file.Path projectPath = Paths.convert(project.getRootPath());
+            final Map<org.uberfire.java.nio.file.Path, String> sources = generateModel(dataModel,
+                                                                                       projectPath.resolve("src").resolve("main").resolve("java"));
+            Long generatedTime = System.currentTimeMillis();
+
             //Start IOService bath processing. IOService batch processing causes a blocking operation on the file system
             //to it must be treated carefully.
             CommentedOption option = serviceHelper.makeCommentedOption(commitMessage);
-            ioService.startBatch(Paths.convert(project.getRootPath()).getFileSystem());
+            ioService.startBatch(projectPath.getFileSystem());
             onBatch = true;
 
-            generateModel(dataModel,
-                          project,
-                          option);
+            final int changedFiles = writeModel(projectPath,
+                                                sources,
+                                                option);
 
             onBatch = false;
             ioService.endBatch();
+            if (changedFiles > 0) {
+                dataModelCache.invalidateProject(project.getRootPath());
+            }
 
             Long endTime = System.currentTimeMillis();
+            generationTime.add(generatedTime - startTime);
+            commitTime.add(endTime - generatedTime);
             if (logger.isDebugEnabled()) {
-                logger.debug("Time elapsed when saving " + project.getProjectName() + ": " + (endTime - startTime) + " ms");
+                logger.debug("Time elapsed when saving " + project.getProjectName() + ": " + (endTime - startTime) + " ms, generation: " +
+                                     (generatedTime - startTime) + " ms, commit of " + changedFiles + " changed files: " + (endTime - generatedTime) + " ms");
             }
 
             GenerationResult result = new GenerationResult();
@@ -981,6 +1010,7 @@ public class DataModelerServiceImpl
             }
             deleteService.delete(path,
                                  comment);
+            dataModelCache.invalidateProject(path);
             String className = calculateClassName(project,
                                                   path);
             DataObject dataObject = new DataObjectImpl(
@@ -1079,29 +1109,52 @@ public class DataModelerServiceImpl
         }
     }
 
-    private void generateModel(DataModel dataModel,
-                               KieProject project,
-                               CommentedOption option) throws Exception {
-
-        org.uberfire.java.nio.file.Path targetFile;
-        org.uberfire.java.nio.file.Path javaRootPath;
-        String newSource;
+    /**
+     * Generates the java sources of a DataModel without writing them.
+     * @return The sources by target file.
+     */
+    private Map<org.uberfire.java.nio.file.Path, String> generateModel(DataModel dataModel,
+                                                                       org.uberfire.java.nio.file.Path javaRootPath) throws Exception {
 
-        //ensure java sources directory exists.
-        Path projectPath = project.getRootPath();
-        javaRootPath = ensureProjectJavaPath(Paths.convert(projectPath));
+        Map<org.uberfire.java.nio.file.Path, String> sources = new LinkedHashMap<org.uberfire.java.nio.file.Path, String>();
 
         for (DataObject dataObject : dataModel.getDataObjects()) {
-            targetFile = calculateFilePath(dataObject.getClassName(),
-                                           javaRootPath);
+            sources.put(calculateFilePath(dataObject.getClassName(),
+                                          javaRootPath),
+                        createJavaSource(dataObject));
+        }
+        return sources;
+    }
+
+    /**
+     * Writes the sources that differ from the current content of their files. Must be called within a batch, so the
+     * files cannot change between being compared and written.
+     * @return The number of files written.
+     */
+    private int writeModel(org.uberfire.java.nio.file.Path projectPath,
+                           Map<org.uberfire.java.nio.file.Path, String> sources,
+                           CommentedOption option) {
+
+        int changedFiles = 0;
+        for (Map.Entry<org.uberfire.java.nio.file.Path, String> source : sources.entrySet()) {
+            final org.uberfire.java.nio.file.Path targetFile = source.getKey();
+            if (ioService.exists(targetFile) && source.getValue().equals(ioService.readAllString(targetFile))) {
+                unchangedFileCount.increment();
+                continue;
+            }
+            if (changedFiles == 0) {
+                //ensure java sources directory exists.
+                ensureProjectJavaPath(projectPath);
+            }
             if (logger.isDebugEnabled()) {
-                logger.debug("Data object: " + dataObject.getClassName() + " java source code will be generated from scratch and written into file: " + targetFile);
+                logger.debug("Java source code generated from scratch will be written into file: " + targetFile);
             }
-            newSource = createJavaSource(dataObject);
             ioService.write(targetFile,
-                            newSource,
+                            source.getValue(),
                             option);
+            changedFiles++;
         }
+        return changedFiles;
     }
 
     private Pair<String, List<DataModelerError>> updateJavaSource(String originalSource,
@@ -1250,19 +1303,26 @@ public class DataModelerServiceImpl
 
     @Override
     public List<String> findPersistableClasses(final Path path) {
-        List<String> classes = new ArrayList<String>();
         KieProject project = projectService.resolveProject(path);
-        if (project != null) {
-            DataModel dataModel = loadModel(project);
-            if (dataModel != null) {
-                for (DataObject dataObject : dataModel.getDataObjects()) {
-                    if (dataObject.getAnnotation(Entity.class.getName()) != null) {
-                        classes.add(dataObject.getClassName());
-                    }
-                }
-            }
+        if (project == null) {
+            return new ArrayList<String>();
+        }
+        try {
+            //only the @Entity annotations of the project's own classes are read, so neither the classes nor the
+            //external dependencies need to be loaded.
+            Package defaultPackage = projectService.resolveDefaultPackage(project);
+            JavaRoasterModelDriver modelDriver = new JavaRoasterModelDriver(ioService,
+                                                                            Paths.convert(defaultPackage.getPackageMainSrcPath()),
+                                                                            null,
+                                                                            filterHolder);
+            return dataModelCache.getPersistableClasses(project,
+                                                        modelDriver);
+        } catch (Exception e) {
+            logger.error("Persistable classes couldn't be loaded, projectPath: " + project.getRootPath() + ".",
+                         e);
+            throw new ServiceException("Persistable classes couldn't be loaded, projectPath: " + project.getRootPath() + ".",
+                                       e);
         }
-        return classes;
     }
 
     @Override
@@ -1499,4 +1559,25 @@ public class DataModelerServiceImpl
         }
         return tokens;
     }
+
+    /**
+     * Total time spent generating the sources of saved DataModels, in milliseconds.
+     */
+    public long getGenerationTime() {
+        return generationTime.sum();
+    }
+
+    /**
+     * Total time spent writing the changed sources of saved DataModels within an IOService batch, in milliseconds.
+     */
+    public long getCommitTime() {
+        return commitTime.sum();
+    }
+
+    /**
+     * Number of generated sources that were not written as they matched the current content of their files.
+     */
+    public long getUnchangedFileCount() {
+        return unchangedFileCount.sum();
+    }
 }
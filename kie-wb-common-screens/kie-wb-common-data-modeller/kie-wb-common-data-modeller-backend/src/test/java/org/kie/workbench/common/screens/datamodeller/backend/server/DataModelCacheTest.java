@@ -0,0 +1,219 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.datamodeller.backend.server;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentMap;
+import javax.persistence.Entity;
+
+import org.jboss.forge.roaster.model.source.JavaClassSource;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.datamodeller.core.DataModel;
+import org.kie.workbench.common.services.datamodeller.core.DataObject;
+import org.kie.workbench.common.services.datamodeller.core.impl.AnnotationImpl;
+import org.kie.workbench.common.services.datamodeller.core.impl.DataObjectImpl;
+import org.kie.workbench.common.services.datamodeller.core.impl.ModelFactoryImpl;
+import org.kie.workbench.common.services.datamodeller.driver.impl.JavaRoasterModelDriver;
+import org.kie.workbench.common.services.datamodeller.driver.model.DriverError;
+import org.kie.workbench.common.services.datamodeller.driver.model.ModelDriverResult;
+import org.kie.workbench.common.services.datamodeller.util.DriverUtils;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollection;
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith( MockitoJUnitRunner.class )
+public class DataModelCacheTest {
+
+    @Mock
+    private KieProject project;
+
+    @Mock
+    private JavaRoasterModelDriver modelDriver;
+
+    @Mock
+    private JavaClassSource javaType1;
+
+    @Mock
+    private JavaClassSource javaType2;
+
+    private Path pojo1;
+
+    private Path pojo2;
+
+    private DataModelCache cache;
+
+    @Before
+    public void setup() throws Exception {
+        final File root = new File( System.getProperty( "java.io.tmpdir" ),
+                                    "DataModelCacheTest" );
+        final Path rootPath = new SimpleFileSystemProvider().getPath( root.toURI() );
+        pojo1 = rootPath.resolve( "src/main/java/org/test/Pojo1.java" );
+        pojo2 = rootPath.resolve( "src/main/java/org/test/Pojo2.java" );
+
+        when( project.getRootPath() ).thenReturn( Paths.convert( rootPath ) );
+        when( modelDriver.scanFiles() ).thenReturn( Arrays.asList( pojo1,
+                                                                   pojo2 ) );
+        doReturn( javaType1 ).when( modelDriver ).parseFile( pojo1 );
+        doReturn( javaType2 ).when( modelDriver ).parseFile( pojo2 );
+        when( modelDriver.loadFile( pojo1,
+                                    javaType1 ) ).thenAnswer( invocation -> fileResult( "Pojo1",
+                                                                                        true ) );
+        when( modelDriver.loadFile( pojo2,
+                                    javaType2 ) ).thenAnswer( invocation -> fileResult( "Pojo2",
+                                                                                        false ) );
+        when( modelDriver.loadFiles( anyList(),
+                                     any( ConcurrentMap.class ) ) ).thenCallRealMethod();
+        when( modelDriver.mergeResults( anyCollection() ) ).thenCallRealMethod();
+        when( modelDriver.createModel() ).thenCallRealMethod();
+
+        cache = new DataModelCache();
+    }
+
+    @Test
+    public void testUnchangedFilesAreNotParsedAgain() throws Exception {
+        cache.loadModel( project,
+                         modelDriver );
+        final DataModel dataModel = cache.loadModel( project,
+                                                     modelDriver ).getDataModel();
+
+        assertEquals( 2,
+                      dataModel.getDataObjects().size() );
+        assertNotNull( dataModel.getDataObject( "org.test.Pojo1" ) );
+        assertNotNull( dataModel.getDataObject( "org.test.Pojo2" ) );
+        verify( modelDriver,
+                times( 1 ) ).parseFile( pojo1 );
+        verify( modelDriver,
+                times( 1 ) ).parseFile( pojo2 );
+    }
+
+    @Test
+    public void testDataObjectsAreNotShared() throws Exception {
+        final DataModel dataModel1 = cache.loadModel( project,
+                                                      modelDriver ).getDataModel();
+        final DataModel dataModel2 = cache.loadModel( project,
+                                                      modelDriver ).getDataModel();
+
+        assertNotSame( dataModel1.getDataObject( "org.test.Pojo1" ),
+                       dataModel2.getDataObject( "org.test.Pojo1" ) );
+        assertNotSame( dataModel1.getDataObject( "org.test.Pojo2" ),
+                       dataModel2.getDataObject( "org.test.Pojo2" ) );
+    }
+
+    @Test
+    public void testUpdatedFileIsParsedAgain() throws Exception {
+        cache.loadModel( project,
+                         modelDriver );
+
+        cache.invalidateFile( Paths.convert( pojo1 ) );
+        cache.loadModel( project,
+                         modelDriver );
+
+        verify( modelDriver,
+                times( 2 ) ).parseFile( pojo1 );
+        verify( modelDriver,
+                times( 1 ) ).parseFile( pojo2 );
+    }
+
+    @Test
+    public void testDeletedFileInvalidatesProject() throws Exception {
+        cache.loadModel( project,
+                         modelDriver );
+
+        when( modelDriver.scanFiles() ).thenReturn( Collections.singletonList( pojo1 ) );
+        cache.invalidateProject( Paths.convert( pojo2 ) );
+        final DataModel dataModel = cache.loadModel( project,
+                                                     modelDriver ).getDataModel();
+
+        assertEquals( 1,
+                      dataModel.getDataObjects().size() );
+        verify( modelDriver,
+                times( 2 ) ).parseFile( pojo1 );
+    }
+
+    @Test
+    public void testFileErrorsAreReportedOnEachLoad() throws Exception {
+        when( modelDriver.loadFile( pojo2,
+                                    javaType2 ) ).thenAnswer( invocation -> {
+            final ModelDriverResult result = fileResult( "Pojo2",
+                                                         false );
+            result.addError( new DriverError( "error",
+                                              Paths.convert( pojo2 ) ) );
+            return result;
+        } );
+
+        cache.loadModel( project,
+                         modelDriver );
+        final ModelDriverResult result = cache.loadModel( project,
+                                                          modelDriver );
+
+        assertEquals( 1,
+                      result.getErrors().size() );
+        verify( modelDriver,
+                times( 1 ) ).parseFile( pojo2 );
+    }
+
+    @Test
+    public void testPersistableClassesShareParsedFiles() throws Exception {
+        when( modelDriver.findAnnotatedClasses( anyList(),
+                                                any( ConcurrentMap.class ),
+                                                eq( Entity.class.getName() ) ) ).thenReturn( Collections.singletonList( "org.test.Pojo1" ) );
+        cache.loadModel( project,
+                         modelDriver );
+
+        assertEquals( Collections.singletonList( "org.test.Pojo1" ),
+                      cache.getPersistableClasses( project,
+                                                   modelDriver ) );
+
+        final ArgumentCaptor<ConcurrentMap> parsedFiles = ArgumentCaptor.forClass( ConcurrentMap.class );
+        verify( modelDriver ).findAnnotatedClasses( eq( Arrays.asList( pojo1,
+                                                                       pojo2 ) ),
+                                                    parsedFiles.capture(),
+                                                    eq( Entity.class.getName() ) );
+        assertEquals( 2,
+                      parsedFiles.getValue().size() );
+        verify( modelDriver,
+                never() ).loadFiles( anyList() );
+    }
+
+    private ModelDriverResult fileResult( final String className,
+                                          final boolean entity ) {
+        final DataObject dataObject = new DataObjectImpl( "org.test",
+                                                          className );
+        if ( entity ) {
+            dataObject.addAnnotation( new AnnotationImpl( DriverUtils.buildAnnotationDefinition( Entity.class ) ) );
+        }
+        final ModelDriverResult result = new ModelDriverResult( ModelFactoryImpl.getInstance().newModel() );
+        result.getDataModel().addDataObject( dataObject );
+        return result;
+    }
+
+}
@@ -16,6 +16,7 @@
 
 package org.kie.workbench.common.screens.datamodeller.backend.server;
 
+import java.io.File;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -30,13 +31,20 @@ import org.junit.runner.RunWith;
 import org.kie.workbench.common.screens.datamodeller.backend.server.file.DataModelerCopyHelper;
 import org.kie.workbench.common.screens.datamodeller.backend.server.helper.DataModelerRenameWorkaroundHelper;
 import org.kie.workbench.common.screens.datamodeller.backend.server.helper.DataModelerSaveHelper;
+import org.kie.workbench.common.screens.datamodeller.service.ServiceException;
+import org.kie.workbench.common.services.datamodeller.core.DataModel;
 import org.kie.workbench.common.services.datamodeller.core.DataObject;
 import org.kie.workbench.common.services.datamodeller.core.impl.DataObjectImpl;
+import org.kie.workbench.common.services.datamodeller.core.impl.ModelFactoryImpl;
+import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.backend.vfs.PathFactory;
 import org.uberfire.ext.editor.commons.service.CopyService;
@@ -44,6 +52,7 @@ import org.uberfire.ext.editor.commons.service.RenameService;
 import org.uberfire.io.IOService;
 import org.uberfire.java.nio.base.options.CommentedOption;
 import org.uberfire.java.nio.file.FileSystem;
+import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
 
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.eq;
@@ -87,6 +96,9 @@ public class DataModelerServiceTest {
     @Mock
     private RenameService renameService;
 
+    @Mock
+    private DataModelCache dataModelCache;
+
     @Spy
     @InjectMocks
     private DataModelerServiceImpl dataModelerService;
@@ -151,6 +163,17 @@ public class DataModelerServiceTest {
                        null);
     }
 
+    @Test(expected = ServiceException.class)
+    public void findPersistableClassesWhenModelCanNotBeLoaded() {
+        Path path = PathFactory.newPath("TestDataObject",
+                                        "file:///dataobjects/TestDataObject.java");
+        KieProject project = mock(KieProject.class);
+        when(projectService.resolveProject(path)).thenReturn(project);
+        when(projectService.resolveDefaultPackage(project)).thenThrow(new IllegalStateException("boom"));
+
+        dataModelerService.findPersistableClasses(path);
+    }
+
     private void testSaveSource(String newPackageName,
                                 String newFileName) {
         Path dataObjectPath = PathFactory.newPath("TestDataObject",
@@ -218,6 +241,12 @@ public class DataModelerServiceTest {
                                      any(Path.class));
         verify(ioService,
                times(1)).endBatch();
+
+        if (newPackageName == null && newFileName == null) {
+            verify(dataModelCache).invalidateFile(dataObjectPath);
+        } else {
+            verify(dataModelCache).invalidateProject(dataObjectPath);
+        }
     }
 
     @Test
@@ -246,6 +275,64 @@ public class DataModelerServiceTest {
                times(1)).endBatch();
     }
 
+    @Test
+    public void saveModelWritesOnlyChangedSources() {
+        final File root = new File(System.getProperty("java.io.tmpdir"),
+                                   "DataModelerServiceTest");
+        final org.uberfire.java.nio.file.Path rootPath = new SimpleFileSystemProvider().getPath(root.toURI());
+        final KieProject project = mock(KieProject.class);
+        when(project.getRootPath()).thenReturn(Paths.convert(rootPath));
+        when(serviceHelper.makeCommentedOption(anyString())).thenReturn(mock(CommentedOption.class));
+        when(ioService.createDirectory(any(org.uberfire.java.nio.file.Path.class))).thenAnswer(invocation -> invocation.getArguments()[0]);
+
+        final DataModel dataModel = ModelFactoryImpl.getInstance().newModel();
+        dataModel.addDataObject(new DataObjectImpl("org.test",
+                                                   "Pojo1"));
+        dataModel.addDataObject(new DataObjectImpl("org.test",
+                                                   "Pojo2"));
+
+        dataModelerService.saveModel(dataModel,
+                                     project,
+                                     false,
+                                     COMMENT);
+
+        final ArgumentCaptor<org.uberfire.java.nio.file.Path> targetFile = ArgumentCaptor.forClass(org.uberfire.java.nio.file.Path.class);
+        final ArgumentCaptor<String> source = ArgumentCaptor.forClass(String.class);
+        verify(ioService,
+               times(1)).startBatch(any(FileSystem.class));
+        verify(ioService,
+               times(2)).write(targetFile.capture(),
+                               source.capture(),
+                               any(CommentedOption.class));
+        verify(ioService,
+               times(1)).endBatch();
+        assertEquals(rootPath.resolve("src/main/java/org/test/Pojo1.java"),
+                     targetFile.getAllValues().get(0));
+
+        //Nothing has changed, so nothing is written
+        for (int i = 0; i < 2; i++) {
+            when(ioService.exists(targetFile.getAllValues().get(i))).thenReturn(true);
+            when(ioService.readAllString(targetFile.getAllValues().get(i))).thenReturn(source.getAllValues().get(i));
+        }
+        dataModelerService.saveModel(dataModel,
+                                     project,
+                                     false,
+                                     COMMENT);
+
+        //The files are compared within the batch, so they cannot change before the changed ones are written
+        final InOrder inOrder = inOrder(ioService);
+        inOrder.verify(ioService,
+                       times(2)).startBatch(any(FileSystem.class));
+        inOrder.verify(ioService).readAllString(targetFile.getAllValues().get(0));
+        inOrder.verify(ioService).endBatch();
+        verify(ioService,
+               times(2)).write(any(org.uberfire.java.nio.file.Path.class),
+                               anyString(),
+                               any(CommentedOption.class));
+        assertEquals(2,
+                     dataModelerService.getUnchangedFileCount());
+    }
+
     @Test
     public void findClassUsagesOfRecentlyDeletedProject() {
         final Path projectPath = mock(Path.class);
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.screens.library.api.index;
+
+import java.util.Date;
+
+import org.jboss.errai.common.client.api.annotations.Portable;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
+import org.uberfire.backend.vfs.Path;
+
+/**
+ * A library asset, with the timestamps recorded when it was indexed. The timestamps are null for assets indexed
+ * before timestamps were recorded.
+ */
+@Portable
+public class LibraryAssetPageRow extends RefactoringPageRow<Path> {
+
+    private Date lastModifiedTime;
+
+    private Date createdTime;
+
+    public Date getLastModifiedTime() {
+        return lastModifiedTime;
+    }
+
+    public void setLastModifiedTime( final Date lastModifiedTime ) {
+        this.lastModifiedTime = lastModifiedTime;
+    }
+
+    public Date getCreatedTime() {
+        return createdTime;
+    }
+
+    public void setCreatedTime( final Date createdTime ) {
+        this.createdTime = createdTime;
+    }
+
+}
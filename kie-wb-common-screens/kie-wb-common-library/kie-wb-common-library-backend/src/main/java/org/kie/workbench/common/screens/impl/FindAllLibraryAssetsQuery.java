@@ -25,7 +25,6 @@ import org.apache.lucene.search.SortField;
 import org.kie.workbench.common.screens.library.api.index.LibraryValueFileNameIndexTerm;
 import org.kie.workbench.common.screens.library.api.index.LibraryValueProjectRootPathIndexTerm;
 import org.kie.workbench.common.services.refactoring.backend.server.query.NamedQuery;
-import org.kie.workbench.common.services.refactoring.backend.server.query.response.FileDetailsResponseBuilder;
 import org.kie.workbench.common.services.refactoring.backend.server.query.response.ResponseBuilder;
 import org.kie.workbench.common.services.refactoring.backend.server.query.standard.AbstractFindQuery;
 import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
@@ -39,7 +38,7 @@ public class FindAllLibraryAssetsQuery
     public static String NAME = "FindAllLibraryAssetsQuery";
 
     @Inject
-    private FileDetailsResponseBuilder responseBuilder;
+    private LibraryAssetResponseBuilder responseBuilder;
 
     @Override
     public String getName() {
@@ -16,17 +16,23 @@
 package org.kie.workbench.common.screens.impl;
 
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
 import org.guvnor.common.services.project.model.Package;
+import org.kie.workbench.common.screens.library.api.LibraryService;
+import org.kie.workbench.common.screens.library.api.index.LibraryCreatedTimeIndexTerm;
 import org.kie.workbench.common.screens.library.api.index.LibraryFileNameIndexTerm;
+import org.kie.workbench.common.screens.library.api.index.LibraryLastModifiedTimeIndexTerm;
 import org.kie.workbench.common.screens.library.api.index.LibraryProjectRootPathIndexTerm;
 import org.kie.workbench.common.services.refactoring.KPropertyImpl;
 import org.kie.workbench.common.services.refactoring.backend.server.indexing.AbstractFileIndexer;
 import org.kie.workbench.common.services.refactoring.backend.server.indexing.DefaultIndexBuilder;
+import org.kie.workbench.common.services.refactoring.backend.server.indexing.SuffixAnalyzer;
 import org.kie.workbench.common.services.refactoring.backend.server.util.KObjectUtil;
 import org.kie.workbench.common.services.refactoring.model.index.terms.PackageNameIndexTerm;
 import org.kie.workbench.common.services.refactoring.model.index.terms.ProjectNameIndexTerm;
@@ -41,6 +47,7 @@ import org.uberfire.ext.metadata.model.KObjectKey;
 import org.uberfire.ext.metadata.model.KProperty;
 import org.uberfire.io.IOService;
 import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.file.attribute.FileTime;
 
 @ApplicationScoped
 public class LibraryIndexer extends AbstractFileIndexer {
@@ -83,6 +90,12 @@ public class LibraryIndexer extends AbstractFileIndexer {
             return null;
         }
 
+        // recorded so that listing assets does not need to read the attributes of each asset
+        final Date lastModifiedTime = getAttribute(path,
+                                                   LibraryService.LAST_MODIFIED_TIME);
+        final Date createdTime = getAttribute(path,
+                                              LibraryService.CREATED_TIME);
+
         // responsible for basic index info: project name, branch, etc
         final DefaultIndexBuilder builder = new DefaultIndexBuilder(Paths.convert(path).getFileName(),
                                                                     project,
@@ -93,11 +106,23 @@ public class LibraryIndexer extends AbstractFileIndexer {
 
                 indexElements.add(new KPropertyImpl<>(LibraryFileNameIndexTerm.TERM,
                                                       fileName));
+                // used to filter assets by any part of their name
+                indexElements.add(new KPropertyImpl<>(SuffixAnalyzer.getSuffixesFieldName(LibraryFileNameIndexTerm.TERM),
+                                                      fileName));
                 indexElements.add(new KPropertyImpl<>(FieldFactory.FILE_NAME_FIELD_SORTED,
                                                       fileName.toLowerCase(),
                                                       false,
                                                       true));
 
+                if (lastModifiedTime != null) {
+                    indexElements.add(new KPropertyImpl<>(LibraryLastModifiedTimeIndexTerm.TERM,
+                                                          String.valueOf(lastModifiedTime.getTime())));
+                }
+                if (createdTime != null) {
+                    indexElements.add(new KPropertyImpl<>(LibraryCreatedTimeIndexTerm.TERM,
+                                                          String.valueOf(createdTime.getTime())));
+                }
+
                 if (project.getRootPath() != null) {
                     final String projectRootUri = project.getRootPath().toURI();
                     indexElements.add(new KPropertyImpl<>(LibraryProjectRootPathIndexTerm.TERM,
@@ -157,6 +182,21 @@ public class LibraryIndexer extends AbstractFileIndexer {
                                         LIBRARY_CLASSIFIER);
     }
 
+    private Date getAttribute(final Path path,
+                              final String attribute) {
+        try {
+            final Map<String, Object> attributes = ioService.readAttributes(path);
+            final Object value = attributes == null ? null : attributes.get(attribute);
+            if (value instanceof FileTime) {
+                return new Date(((FileTime) value).toMillis());
+            }
+        } catch (Exception e) {
+            logger.debug("Unable to read '" + attribute + "' of " + path.toUri().toString() + ".",
+                         e);
+        }
+        return null;
+    }
+
     protected KieProject getProject(final Path path) {
         return projectService.resolveProject(Paths.convert(path));
     }
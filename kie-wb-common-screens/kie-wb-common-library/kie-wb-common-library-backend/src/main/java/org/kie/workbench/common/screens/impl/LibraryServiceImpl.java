@@ -55,6 +55,7 @@ import org.kie.workbench.common.screens.library.api.LibraryInfo;
 import org.kie.workbench.common.screens.library.api.LibraryService;
 import org.kie.workbench.common.screens.library.api.OrganizationalUnitRepositoryInfo;
 import org.kie.workbench.common.screens.library.api.ProjectAssetsQuery;
+import org.kie.workbench.common.screens.library.api.index.LibraryAssetPageRow;
 import org.kie.workbench.common.screens.library.api.index.LibraryValueFileNameIndexTerm;
 import org.kie.workbench.common.screens.library.api.index.LibraryValueProjectRootPathIndexTerm;
 import org.kie.workbench.common.screens.library.api.preferences.LibraryInternalPreferences;
@@ -209,54 +210,69 @@ public class LibraryServiceImpl implements LibraryService {
         queryTerms.add(new LibraryValueProjectRootPathIndexTerm(query.getProject().getRootPath().toURI()));
 
         if (query.hasFilter()) {
-            queryTerms.add(new LibraryValueFileNameIndexTerm("*" + query.getFilter() + "*",
-                                                             ValueIndexTerm.TermSearchType.WILDCARD));
+            queryTerms.add(new LibraryValueFileNameIndexTerm(query.getFilter(),
+                                                             ValueIndexTerm.TermSearchType.SUBSTRING));
         }
 
         final PageResponse<RefactoringPageRow> findRulesByProjectQuery = refactoringQueryService.query(new RefactoringPageRequest(FindAllLibraryAssetsQuery.NAME,
                                                                                                                                   queryTerms,
                                                                                                                                   query.getStartIndex(),
                                                                                                                                   query.getAmount()));
-        final List<FolderItem> assets = findRulesByProjectQuery
+        return findRulesByProjectQuery
                 .getPageRowList()
                 .stream()
                 .map(row -> {
                     final Path path = (Path) row.getValue();
-                    return new FolderItem(path,
-                                          path.getFileName(),
-                                          FolderItemType.FILE,
-                                          false,
-                                          Paths.readLockedBy(path),
-                                          Collections.<String>emptyList(),
-                                          explorerServiceHelper.getRestrictedOperations(path));
-                })
-                .collect(Collectors.toList());
-
-        return assets.stream()
-                .map(asset -> {
-                    AssetInfo info = null;
-                    try {
-                        final Map<String, Object> attributes = ioService.readAttributes(Paths.convert((Path) asset.getItem()));
-
-                        final FileTime lastModifiedFileTime = (FileTime) getAttribute(LibraryService.LAST_MODIFIED_TIME,
-                                                                                      attributes).get();
-                        final FileTime createdFileTime = (FileTime) getAttribute(LibraryService.CREATED_TIME,
-                                                                                 attributes).get();
-                        final Date lastModifiedTime = new Date(lastModifiedFileTime.toMillis());
-                        final Date createdTime = new Date(createdFileTime.toMillis());
-                        info = new AssetInfo(asset,
-                                             lastModifiedTime,
-                                             createdTime);
-                    } catch (NoSuchFileException nfe) {
-                        log.debug("File '" + asset.getFileName() + "' in LibraryIndex but not VFS. Suspected deletion. Skipping.");
-                    }
-                    return Optional.ofNullable(info);
+                    final FolderItem asset = new FolderItem(path,
+                                                            path.getFileName(),
+                                                            FolderItemType.FILE,
+                                                            false,
+                                                            Paths.readLockedBy(path),
+                                                            Collections.<String>emptyList(),
+                                                            explorerServiceHelper.getRestrictedOperations(path));
+                    return toAssetInfo(asset,
+                                       row);
                 })
                 .filter(Optional::isPresent)
                 .map(Optional::get)
                 .collect(Collectors.toList());
     }
 
+    private Optional<AssetInfo> toAssetInfo(final FolderItem asset,
+                                            final RefactoringPageRow row) {
+        //Timestamps are recorded in the index, other than for assets indexed before they were recorded
+        if (row instanceof LibraryAssetPageRow) {
+            final LibraryAssetPageRow assetRow = (LibraryAssetPageRow) row;
+            if (assetRow.getLastModifiedTime() != null && assetRow.getCreatedTime() != null) {
+                if (!ioService.exists(Paths.convert((Path) asset.getItem()))) {
+                    log.debug("File '" + asset.getFileName() + "' in LibraryIndex but not VFS. Suspected deletion. Skipping.");
+                    return Optional.empty();
+                }
+                return Optional.of(new AssetInfo(asset,
+                                                 assetRow.getLastModifiedTime(),
+                                                 assetRow.getCreatedTime()));
+            }
+        }
+
+        AssetInfo info = null;
+        try {
+            final Map<String, Object> attributes = ioService.readAttributes(Paths.convert((Path) asset.getItem()));
+
+            final FileTime lastModifiedFileTime = (FileTime) getAttribute(LibraryService.LAST_MODIFIED_TIME,
+                                                                          attributes).get();
+            final FileTime createdFileTime = (FileTime) getAttribute(LibraryService.CREATED_TIME,
+                                                                     attributes).get();
+            final Date lastModifiedTime = new Date(lastModifiedFileTime.toMillis());
+            final Date createdTime = new Date(createdFileTime.toMillis());
+            info = new AssetInfo(asset,
+                                 lastModifiedTime,
+                                 createdTime);
+        } catch (NoSuchFileException nfe) {
+            log.debug("File '" + asset.getFileName() + "' in LibraryIndex but not VFS. Suspected deletion. Skipping.");
+        }
+        return Optional.ofNullable(info);
+    }
+
     @Override
     public Boolean hasProjects(final Repository repository,
                                final String branch) {
@@ -165,6 +165,44 @@ public class FindAllLibraryAssetsQueryTest
         }
     }
 
+    @Test
+    public void filterFilesFromProjectBySubstring() throws IOException, InterruptedException {
+
+        //Add test files
+        addTestFile(TEST_PROJECT_ROOT,
+                    "myRule1.rule");
+        addTestFile(TEST_PROJECT_ROOT,
+                    "otherRULE2.rule");
+        addTestFile(SOME_OTHER_PROJECT_ROOT,
+                    "myRule3.rule");
+        addTestFile(TEST_PROJECT_ROOT,
+                    "functions.functions");
+
+        Thread.sleep(5000); //wait for events to be consumed from jgit -> (notify changes -> watcher -> index) -> lucene index
+
+        {
+            final RefactoringPageRequest request = new RefactoringPageRequest(FindAllLibraryAssetsQuery.NAME,
+                                                                              new HashSet<ValueIndexTerm>() {{
+                                                                                  add(new LibraryValueProjectRootPathIndexTerm(TEST_PROJECT_ROOT,
+                                                                                                                               TermSearchType.WILDCARD));
+                                                                                  add(new LibraryValueFileNameIndexTerm("Rule",
+                                                                                                                        TermSearchType.SUBSTRING));
+                                                                              }},
+                                                                              0,
+                                                                              10);
+
+            try {
+                final PageResponse<RefactoringPageRow> response = service.query(request);
+                assertNotNull(response);
+
+                assertEquals(2,
+                             response.getPageRowList().size());
+            } catch (IllegalArgumentException e) {
+                fail("Exception thrown: " + e.getMessage());
+            }
+        }
+    }
+
     @Override
     protected String getRepositoryName() {
         return this.getClass().getSimpleName();
@@ -27,6 +27,7 @@ import org.kie.workbench.common.services.refactoring.backend.server.query.respon
 import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
 import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm.TermSearchType;
 import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRequest;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageResponse;
 import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.mockito.invocation.InvocationOnMock;
@@ -220,6 +221,66 @@ public class FindAllLibraryAssetsSortedQueryTest
         }
     }
 
+    @Test
+    public void listAllInProjectSortedPagedByCursor() throws IOException, InterruptedException {
+
+        //Add test files
+        addTestFile(TEST_PROJECT_ROOT,
+                    "rule3.rule");
+        addTestFile(TEST_PROJECT_ROOT,
+                    "functions.functions");
+        addTestFile(TEST_PROJECT_ROOT,
+                    "drl3.ext3");
+        addTestFile(TEST_PROJECT_ROOT,
+                    "drl2.ext2");
+        addTestFile(TEST_PROJECT_ROOT,
+                    "drl1.drl");
+        addTestFile(TEST_PROJECT_ROOT,
+                    "RULE4.rule");
+        addTestFile(TEST_PROJECT_ROOT,
+                    "DRL4.drl");
+
+        Thread.sleep(5000); //wait for events to be consumed from jgit -> (notify changes -> watcher -> index) -> lucene index
+
+        final RefactoringPageRequest request1 = makePagedRequest();
+        final RefactoringPageResponse response1 = (RefactoringPageResponse) service.query(request1);
+        assertEquals(4,
+                     response1.getPageRowList().size());
+        assertFalse(response1.isLastPage());
+        assertNotNull(response1.getSearchAfter());
+        assertEquals("DRL4.drl",
+                     ((Path) response1.getPageRowList().get(3).getValue()).getFileName());
+
+        //The second page follows the cursor in file name order, regardless of the start row index
+        final RefactoringPageRequest request2 = makePagedRequest();
+        request2.setSearchAfter(response1.getSearchAfter());
+        final RefactoringPageResponse response2 = (RefactoringPageResponse) service.query(request2);
+        assertEquals(3,
+                     response2.getPageRowList().size());
+        assertTrue(response2.isLastPage());
+        assertEquals("functions.functions",
+                     ((Path) response2.getPageRowList().get(0).getValue()).getFileName());
+        assertEquals("rule3.rule",
+                     ((Path) response2.getPageRowList().get(1).getValue()).getFileName());
+        assertEquals("RULE4.rule",
+                     ((Path) response2.getPageRowList().get(2).getValue()).getFileName());
+    }
+
+    @Test
+    public void emptyResultIsARefactoringPageResponse() throws IOException, InterruptedException {
+        assertTrue(service.query(makePagedRequest()) instanceof RefactoringPageResponse);
+    }
+
+    private RefactoringPageRequest makePagedRequest() {
+        return new RefactoringPageRequest(FindAllLibraryAssetsQuery.NAME,
+                                          new HashSet<ValueIndexTerm>() {{
+                                              add(new LibraryValueProjectRootPathIndexTerm(TEST_PROJECT_ROOT,
+                                                                                           TermSearchType.WILDCARD));
+                                          }},
+                                          0,
+                                          4);
+    }
+
     @Override
     protected String getRepositoryName() {
         return this.getClass().getSimpleName();
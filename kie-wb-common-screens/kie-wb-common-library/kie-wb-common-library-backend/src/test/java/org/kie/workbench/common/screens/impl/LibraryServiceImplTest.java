@@ -18,6 +18,7 @@ package org.kie.workbench.common.screens.impl;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -46,6 +47,7 @@ import org.kie.workbench.common.screens.library.api.AssetInfo;
 import org.kie.workbench.common.screens.library.api.LibraryInfo;
 import org.kie.workbench.common.screens.library.api.OrganizationalUnitRepositoryInfo;
 import org.kie.workbench.common.screens.library.api.ProjectAssetsQuery;
+import org.kie.workbench.common.screens.library.api.index.LibraryAssetPageRow;
 import org.kie.workbench.common.screens.library.api.preferences.LibraryInternalPreferences;
 import org.kie.workbench.common.screens.library.api.preferences.LibraryOrganizationalUnitPreferences;
 import org.kie.workbench.common.screens.library.api.preferences.LibraryPreferences;
@@ -395,7 +397,8 @@ public class LibraryServiceImplTest {
         assertQueryTermsContains(pageRequest.getQueryTerms(),
                                  "file://the_project");
         assertQueryTermsContains(pageRequest.getQueryTerms(),
-                                 "*helloo*");
+                                 "helloo");
+        assertTrue(pageRequest.getQueryTerms().stream().anyMatch((t) -> t.getSearchType() == ValueIndexTerm.TermSearchType.SUBSTRING));
 
         assertEquals(10,
                      pageRequest.getStartRowIndex());
@@ -436,6 +439,80 @@ public class LibraryServiceImplTest {
         assertTrue(projectAssets.isEmpty());
     }
 
+    @Test
+    public void queryAnItemWithIndexedTimestamps() throws Exception {
+
+        final Path path = mockPath("file://the_project");
+
+        final Project project = mock(Project.class);
+        when(project.getRootPath()).thenReturn(path);
+
+        doReturn(true).when(ioService).exists(any());
+
+        final ProjectAssetsQuery query = new ProjectAssetsQuery(project,
+                                                                "",
+                                                                0,
+                                                                20);
+
+        final PageResponse<RefactoringPageRow> pageRowPageResponse = new PageResponse<>();
+        final ArrayList<RefactoringPageRow> assetPageRowList = new ArrayList<>();
+        final LibraryAssetPageRow pageRow = new LibraryAssetPageRow();
+        final Path filePath = mockPath("file://the_project/rule.drl");
+        when(filePath.getFileName()).thenReturn("rule.drl");
+        pageRow.setValue(filePath);
+        pageRow.setLastModifiedTime(new Date(2000));
+        pageRow.setCreatedTime(new Date(1000));
+        assetPageRowList.add(pageRow);
+
+        pageRowPageResponse.setPageRowList(assetPageRowList);
+        when(refactoringQueryService.query(any(RefactoringPageRequest.class))).thenReturn(pageRowPageResponse);
+
+        final List<AssetInfo> projectAssets = libraryService.getProjectAssets(query);
+
+        assertEquals(1,
+                     projectAssets.size());
+        assertEquals(new Date(2000),
+                     projectAssets.get(0).getLastModifiedTime());
+        assertEquals(new Date(1000),
+                     projectAssets.get(0).getCreatedTime());
+        verify(ioService,
+               never()).readAttributes(any());
+    }
+
+    @Test
+    public void queryAnItemWithIndexedTimestampsThatIsNotInVFS() throws Exception {
+
+        final Path path = mockPath("file://the_project");
+
+        final Project project = mock(Project.class);
+        when(project.getRootPath()).thenReturn(path);
+
+        final ProjectAssetsQuery query = new ProjectAssetsQuery(project,
+                                                                "",
+                                                                0,
+                                                                20);
+
+        final PageResponse<RefactoringPageRow> pageRowPageResponse = new PageResponse<>();
+        final ArrayList<RefactoringPageRow> assetPageRowList = new ArrayList<>();
+        final LibraryAssetPageRow pageRow = new LibraryAssetPageRow();
+        final Path filePath = mockPath("file://the_project/rule.drl");
+        when(filePath.getFileName()).thenReturn("rule.drl");
+        pageRow.setValue(filePath);
+        pageRow.setLastModifiedTime(new Date(2000));
+        pageRow.setCreatedTime(new Date(1000));
+        assetPageRowList.add(pageRow);
+
+        pageRowPageResponse.setPageRowList(assetPageRowList);
+        when(refactoringQueryService.query(any(RefactoringPageRequest.class))).thenReturn(pageRowPageResponse);
+
+        //The project exists but the asset has been deleted since it was indexed
+        doAnswer(invocation -> !invocation.getArguments()[0].toString().endsWith("rule.drl")).when(ioService).exists(any());
+
+        final List<AssetInfo> projectAssets = libraryService.getProjectAssets(query);
+
+        assertTrue(projectAssets.isEmpty());
+    }
+
     private Path mockPath(final String uri) {
         final Path path = mock(Path.class);
         when(path.toURI()).thenReturn(uri);
@@ -27,7 +27,6 @@ import javax.inject.Inject;
 import javax.inject.Named;
 
 import com.google.common.collect.Lists;
-import com.thoughtworks.xstream.XStream;
 import org.guvnor.common.services.backend.file.LinkedDotFileFilter;
 import org.guvnor.common.services.backend.file.LinkedRegularFileFilter;
 import org.guvnor.common.services.project.model.Package;
@@ -67,7 +66,6 @@ public class ExplorerServiceHelper {
 
     private LinkedDotFileFilter dotFileFilter = new LinkedDotFileFilter();
     private LinkedRegularFileFilter regularFileFilter = new LinkedRegularFileFilter( dotFileFilter );
-    private XStream xs = new XStream();
 
     private KieProjectService projectService;
     private FolderListingResolver folderListingResolver;
@@ -80,6 +78,7 @@ public class ExplorerServiceHelper {
     private DeleteService deleteService;
     private RenameService renameService;
     private CopyService copyService;
+    private UserExplorerNavigationStore navigationStore;
 
     public ExplorerServiceHelper() {
         //WELD proxy support
@@ -95,7 +94,8 @@ public class ExplorerServiceHelper {
                                   final UserServicesImpl userServices,
                                   final DeleteService deleteService,
                                   final RenameService renameService,
-                                  final CopyService copyService ) {
+                                  final CopyService copyService,
+                                  final UserExplorerNavigationStore navigationStore ) {
         this.projectService = projectService;
         this.folderListingResolver = folderListingResolver;
         this.ioService = ioService;
@@ -106,6 +106,7 @@ public class ExplorerServiceHelper {
         this.deleteService = deleteService;
         this.renameService = renameService;
         this.copyService = copyService;
+        this.navigationStore = navigationStore;
     }
 
     public FolderItem toFolderItem( final org.guvnor.common.services.project.model.Package pkg ) {
@@ -392,56 +393,43 @@ public class ExplorerServiceHelper {
                        final Package pkg,
                        final FolderItem item,
                        final ActiveOptions options ) {
-        final UserExplorerData content;
-        final UserExplorerData _content = loadUserContent( userNav );
-        if ( _content == null ) {
-            content = new UserExplorerData();
-        } else {
-            content = _content;
-        }
-        final UserExplorerLastData lastContent = new UserExplorerLastData();
-        if ( organizationalUnit != null ) {
-            content.setOrganizationalUnit( organizationalUnit );
-        }
-        if ( repository != null && organizationalUnit != null ) {
-            content.addRepository( organizationalUnit, repository );
-        }
-        if ( project != null && organizationalUnit != null && repository != null ) {
-            content.addProject( organizationalUnit, repository, project );
-        }
-        if ( item != null && organizationalUnit != null && repository != null && branch != null && project != null ) {
-            lastContent.setFolderItem( organizationalUnit, repository, branch, project, item );
-            content.addFolderItem( organizationalUnit, repository, project, item );
-        }
-        if ( pkg != null && organizationalUnit != null && repository != null && branch != null && project != null ) {
-            lastContent.setPackage( organizationalUnit, repository, branch, project, pkg );
-            content.addPackage( organizationalUnit, repository, project, pkg );
-        }
-        if ( options != null && !options.isEmpty() ) {
-            lastContent.setOptions( options );
-        }
-        if ( !content.isEmpty() ) {
-            try {
-                ioServiceConfig.startBatch( userNav.getFileSystem() );
-                ioServiceConfig.write( userNav,
-                                       xs.toXML( content ) );
-                ioServiceConfig.write( lastUserNav,
-                                       xs.toXML( lastContent ) );
-            } finally {
-                ioServiceConfig.endBatch();
-            }
-        }
+        navigationStore.update( userNav,
+                                lastUserNav,
+                                ( content ) -> {
+                                    final UserExplorerLastData lastContent = new UserExplorerLastData();
+                                    if ( organizationalUnit != null ) {
+                                        content.setOrganizationalUnit( organizationalUnit );
+                                    }
+                                    if ( repository != null && organizationalUnit != null ) {
+                                        content.addRepository( organizationalUnit, repository );
+                                    }
+                                    if ( project != null && organizationalUnit != null && repository != null ) {
+                                        content.addProject( organizationalUnit, repository, project );
+                                    }
+                                    if ( item != null && organizationalUnit != null && repository != null && branch != null && project != null ) {
+                                        lastContent.setFolderItem( organizationalUnit, repository, branch, project, item );
+                                        content.addFolderItem( organizationalUnit, repository, project, item );
+                                    }
+                                    if ( pkg != null && organizationalUnit != null && repository != null && branch != null && project != null ) {
+                                        lastContent.setPackage( organizationalUnit, repository, branch, project, pkg );
+                                        content.addPackage( organizationalUnit, repository, project, pkg );
+                                    }
+                                    if ( options != null && !options.isEmpty() ) {
+                                        lastContent.setOptions( options );
+                                    }
+                                    return lastContent;
+                                } );
+    }
+
+    /**
+     * Write pending navigation state of all users to the configuration file system
+     */
+    public void flushNavigationState() {
+        navigationStore.flush();
     }
 
     public UserExplorerData loadUserContent( final org.uberfire.java.nio.file.Path path ) {
-        try {
-            if ( ioServiceConfig.exists( path ) ) {
-                final String xml = ioServiceConfig.readAllString( path );
-                return (UserExplorerData) xs.fromXML( xml );
-            }
-        } catch ( final Exception ignored ) {
-        }
-        return null;
+        return navigationStore.getUserContent( path );
     }
 
     public UserExplorerData loadUserContent() {
@@ -464,14 +452,7 @@ public class ExplorerServiceHelper {
     }
 
     public UserExplorerLastData getLastContent( final org.uberfire.java.nio.file.Path path ) {
-        try {
-            if ( ioServiceConfig.exists( path ) ) {
-                final String xml = ioServiceConfig.readAllString( path );
-                return (UserExplorerLastData) xs.fromXML( xml );
-            }
-        } catch ( final Exception ignored ) {
-        }
-        return null;
+        return navigationStore.getLastContent( path );
     }
 
     public List<FolderItemOperation> getRestrictedOperations( final Path path ) {
@@ -388,6 +388,9 @@ public class ExplorerServiceImpl
     }
 
     private void cleanup( final Project project ) {
+        //Write pending navigation state first, so that it is cleaned up too
+        helper.flushNavigationState();
+
         final Collection<org.uberfire.java.nio.file.Path> lastNavs = userServicesBackend.getAllUsersData( "explorer", "last.user.nav" );
         final Collection<org.uberfire.java.nio.file.Path> userNavs = userServicesBackend.getAllUsersData( "explorer", "user.nav" );
 
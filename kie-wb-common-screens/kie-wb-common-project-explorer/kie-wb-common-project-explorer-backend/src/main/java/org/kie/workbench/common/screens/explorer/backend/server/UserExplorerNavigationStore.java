@@ -0,0 +1,307 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.explorer.backend.server;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import com.thoughtworks.xstream.XStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.FileSystem;
+import org.uberfire.java.nio.file.Path;
+
+/**
+ * In-memory store of users' Project Explorer navigation state.
+ * <p>
+ * Updates are applied to the state held in memory and written to the configuration file system periodically, with
+ * the pending state of all users written in a single batch; rather than each navigation causing a commit. Reads
+ * return the pending state, when there is one, so users always see their latest navigation.
+ */
+@ApplicationScoped
+public class UserExplorerNavigationStore {
+
+    public static final String FLUSH_INTERVAL_PROPERTY = "org.kie.workbench.explorer.navigation.flushInterval";
+
+    static final long DEFAULT_FLUSH_INTERVAL = 5000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( UserExplorerNavigationStore.class );
+
+    private final ConcurrentMap<Path, UserNavigationState> states = new ConcurrentHashMap<Path, UserNavigationState>();
+
+    private final Object flushLock = new Object();
+
+    private XStream xs = new XStream();
+
+    private IOService ioServiceConfig;
+
+    private ScheduledExecutorService scheduler;
+
+    private long flushInterval = Long.getLong( FLUSH_INTERVAL_PROPERTY,
+                                               DEFAULT_FLUSH_INTERVAL );
+
+    public UserExplorerNavigationStore() {
+        //CDI proxy
+    }
+
+    @Inject
+    public UserExplorerNavigationStore( @Named("configIO") final IOService ioServiceConfig ) {
+        this.ioServiceConfig = ioServiceConfig;
+    }
+
+    @PostConstruct
+    public void start() {
+        if ( flushInterval > 0 ) {
+            scheduler = Executors.newSingleThreadScheduledExecutor( ( runnable ) -> {
+                final Thread thread = new Thread( runnable,
+                                                  "explorer-navigation-flush" );
+                thread.setDaemon( true );
+                return thread;
+            } );
+            scheduler.scheduleWithFixedDelay( this::safeFlush,
+                                              flushInterval,
+                                              flushInterval,
+                                              TimeUnit.MILLISECONDS );
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if ( scheduler != null ) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        safeFlush();
+    }
+
+    /**
+     * Apply an update to a user's navigation state.
+     * @param userNav Path to the user's navigation history
+     * @param lastUserNav Path to the user's last navigation
+     * @param updater Updates the navigation history, loaded if necessary, and returns the new last navigation.
+     * The update is discarded if the navigation history remains empty.
+     */
+    public void update( final Path userNav,
+                        final Path lastUserNav,
+                        final Function<UserExplorerData, UserExplorerLastData> updater ) {
+        while ( true ) {
+            final UserNavigationState state = states.computeIfAbsent( userNav,
+                                                                      ( path ) -> new UserNavigationState( userNav,
+                                                                                                           lastUserNav ) );
+            synchronized ( state ) {
+                if ( states.get( userNav ) != state ) {
+                    //The state was written and discarded by a flush; start afresh from the written state
+                    continue;
+                }
+                if ( state.content == null ) {
+                    state.content = load( userNav,
+                                          UserExplorerData.class );
+                    if ( state.content == null ) {
+                        state.content = new UserExplorerData();
+                    }
+                }
+                final UserExplorerLastData lastContent = updater.apply( state.content );
+                if ( !state.content.isEmpty() ) {
+                    state.lastContent = lastContent;
+                    state.dirty = true;
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return A copy of the user's navigation history, or null if there is none
+     */
+    public UserExplorerData getUserContent( final Path userNav ) {
+        final UserNavigationState state = states.get( userNav );
+        if ( state != null ) {
+            synchronized ( state ) {
+                if ( state.content != null ) {
+                    return copy( state.content );
+                }
+            }
+        }
+        return load( userNav,
+                     UserExplorerData.class );
+    }
+
+    /**
+     * @return A copy of the user's last navigation, or null if there is none
+     */
+    public UserExplorerLastData getLastContent( final Path lastUserNav ) {
+        for ( UserNavigationState state : states.values() ) {
+            if ( state.lastUserNav.equals( lastUserNav ) ) {
+                synchronized ( state ) {
+                    if ( state.lastContent != null ) {
+                        return copy( state.lastContent );
+                    }
+                }
+            }
+        }
+        return load( lastUserNav,
+                     UserExplorerLastData.class );
+    }
+
+    /**
+     * Write all pending navigation state; one batch per file system.
+     */
+    public void flush() {
+        synchronized ( flushLock ) {
+            final Map<FileSystem, List<PendingWrite>> writes = new HashMap<FileSystem, List<PendingWrite>>();
+            final List<UserNavigationState> flushed = new ArrayList<UserNavigationState>();
+            for ( UserNavigationState state : states.values() ) {
+                synchronized ( state ) {
+                    if ( state.dirty ) {
+                        final FileSystem fileSystem = state.userNav.getFileSystem();
+                        if ( !writes.containsKey( fileSystem ) ) {
+                            writes.put( fileSystem,
+                                        new ArrayList<PendingWrite>() );
+                        }
+                        writes.get( fileSystem ).add( new PendingWrite( state,
+                                                                        state.userNav,
+                                                                        xs.toXML( state.content ) ) );
+                        writes.get( fileSystem ).add( new PendingWrite( state,
+                                                                        state.lastUserNav,
+                                                                        xs.toXML( state.lastContent ) ) );
+                        state.dirty = false;
+                    }
+                    flushed.add( state );
+                }
+            }
+
+            final Set<UserNavigationState> written = new HashSet<UserNavigationState>();
+            final Set<UserNavigationState> unwritten = new HashSet<UserNavigationState>();
+            for ( List<PendingWrite> fileSystemWrites : writes.values() ) {
+                for ( PendingWrite write : fileSystemWrites ) {
+                    unwritten.add( write.state );
+                }
+            }
+            try {
+                for ( Map.Entry<FileSystem, List<PendingWrite>> e : writes.entrySet() ) {
+                    try {
+                        ioServiceConfig.startBatch( e.getKey() );
+                        for ( PendingWrite write : e.getValue() ) {
+                            ioServiceConfig.write( write.path,
+                                                   write.content );
+                        }
+                    } finally {
+                        ioServiceConfig.endBatch();
+                    }
+                    for ( PendingWrite write : e.getValue() ) {
+                        written.add( write.state );
+                    }
+                }
+            } finally {
+                unwritten.removeAll( written );
+                //Don't hold state between flushes as the files may be written elsewhere; e.g. when a Project is deleted
+                for ( UserNavigationState state : flushed ) {
+                    synchronized ( state ) {
+                        if ( unwritten.contains( state ) ) {
+                            //The write failed; keep the state so that the next flush retries it
+                            state.dirty = true;
+                        }
+                        if ( !state.dirty ) {
+                            states.remove( state.userNav,
+                                           state );
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    void setFlushInterval( final long flushInterval ) {
+        this.flushInterval = flushInterval;
+    }
+
+    private void safeFlush() {
+        try {
+            flush();
+        } catch ( final Exception e ) {
+            LOGGER.error( "Can't serialize users' navigation state",
+                          e );
+        }
+    }
+
+    private <T> T load( final Path path,
+                        final Class<T> type ) {
+        try {
+            if ( ioServiceConfig.exists( path ) ) {
+                final String xml = ioServiceConfig.readAllString( path );
+                return type.cast( xs.fromXML( xml ) );
+            }
+        } catch ( final Exception ignored ) {
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T copy( final T content ) {
+        if ( content == null ) {
+            return null;
+        }
+        return (T) xs.fromXML( xs.toXML( content ) );
+    }
+
+    private static class UserNavigationState {
+
+        private final Path userNav;
+        private final Path lastUserNav;
+        private UserExplorerData content;
+        private UserExplorerLastData lastContent;
+        private boolean dirty;
+
+        private UserNavigationState( final Path userNav,
+                                     final Path lastUserNav ) {
+            this.userNav = userNav;
+            this.lastUserNav = lastUserNav;
+        }
+    }
+
+    private static class PendingWrite {
+
+        private final UserNavigationState state;
+        private final Path path;
+        private final String content;
+
+        private PendingWrite( final UserNavigationState state,
+                              final Path path,
+                              final String content ) {
+            this.state = state;
+            this.path = path;
+            this.content = content;
+        }
+    }
+
+}
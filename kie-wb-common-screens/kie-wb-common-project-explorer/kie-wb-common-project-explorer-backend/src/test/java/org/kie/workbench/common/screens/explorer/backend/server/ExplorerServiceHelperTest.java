@@ -88,6 +88,9 @@ public class ExplorerServiceHelperTest {
     @Mock
     private CopyService copyService;
 
+    @Mock
+    private UserExplorerNavigationStore navigationStore;
+
     @Mock
     private Package pkg;
 
@@ -156,7 +159,8 @@ public class ExplorerServiceHelperTest {
                                                  userServices,
                                                  deleteService,
                                                  renameService,
-                                                 copyService ) );
+                                                 copyService,
+                                                 navigationStore ) );
     }
 
     @Test
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.explorer.backend.server;
+
+import org.guvnor.structure.organizationalunit.OrganizationalUnit;
+import org.guvnor.structure.organizationalunit.impl.OrganizationalUnitImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.screens.explorer.service.ActiveOptions;
+import org.kie.workbench.common.screens.explorer.service.Option;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.FileSystem;
+import org.uberfire.java.nio.file.Path;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class UserExplorerNavigationStoreTest {
+
+    @Mock
+    private IOService ioServiceConfig;
+
+    @Mock
+    private FileSystem fileSystem;
+
+    @Mock
+    private Path user1Nav;
+
+    @Mock
+    private Path user1LastNav;
+
+    @Mock
+    private Path user2Nav;
+
+    @Mock
+    private Path user2LastNav;
+
+    private UserExplorerNavigationStore store;
+
+    private final OrganizationalUnit ou1 = new OrganizationalUnitImpl( "ou1",
+                                                                       "owner",
+                                                                       "group" );
+
+    private final OrganizationalUnit ou2 = new OrganizationalUnitImpl( "ou2",
+                                                                       "owner",
+                                                                       "group" );
+
+    @Before
+    public void setup() {
+        when( user1Nav.getFileSystem() ).thenReturn( fileSystem );
+        when( user2Nav.getFileSystem() ).thenReturn( fileSystem );
+        when( ioServiceConfig.exists( any( Path.class ) ) ).thenReturn( false );
+
+        store = new UserExplorerNavigationStore( ioServiceConfig );
+    }
+
+    @Test
+    public void testUpdatesAreCoalescedIntoOneBatch() {
+        select( user1Nav,
+                user1LastNav,
+                ou1 );
+        select( user1Nav,
+                user1LastNav,
+                ou2 );
+        select( user2Nav,
+                user2LastNav,
+                ou1 );
+
+        verify( ioServiceConfig,
+                never() ).write( any( Path.class ),
+                                 anyString() );
+
+        store.flush();
+
+        verify( ioServiceConfig,
+                times( 1 ) ).startBatch( fileSystem );
+        verify( ioServiceConfig,
+                times( 1 ) ).write( eq( user1Nav ),
+                                    anyString() );
+        verify( ioServiceConfig,
+                times( 1 ) ).write( eq( user1LastNav ),
+                                    anyString() );
+        verify( ioServiceConfig,
+                times( 1 ) ).write( eq( user2Nav ),
+                                    anyString() );
+        verify( ioServiceConfig,
+                times( 1 ) ).write( eq( user2LastNav ),
+                                    anyString() );
+        verify( ioServiceConfig,
+                times( 1 ) ).endBatch();
+
+        //Nothing pending
+        store.flush();
+        verify( ioServiceConfig,
+                times( 1 ) ).startBatch( fileSystem );
+    }
+
+    @Test
+    public void testPendingStateIsRead() {
+        select( user1Nav,
+                user1LastNav,
+                ou2 );
+
+        final UserExplorerData content = store.getUserContent( user1Nav );
+        assertNotNull( content );
+        assertEquals( "ou2",
+                      content.getOrganizationalUnit().getName() );
+        assertTrue( store.getLastContent( user1LastNav ).getOptions().contains( Option.BUSINESS_CONTENT ) );
+
+        //Callers receive a copy
+        content.setOrganizationalUnit( ou1 );
+        assertEquals( "ou2",
+                      store.getUserContent( user1Nav ).getOrganizationalUnit().getName() );
+
+        assertNull( store.getUserContent( user2Nav ) );
+        verify( ioServiceConfig,
+                never() ).readAllString( user1Nav );
+    }
+
+    @Test
+    public void testEmptyUpdatesAreNotWritten() {
+        store.update( user1Nav,
+                      user1LastNav,
+                      ( content ) -> new UserExplorerLastData() );
+
+        store.flush();
+
+        verify( ioServiceConfig,
+                never() ).startBatch( any( FileSystem.class ) );
+        verify( ioServiceConfig,
+                never() ).write( any( Path.class ),
+                                 anyString() );
+    }
+
+    @Test
+    public void testFailedWriteIsRetried() {
+        select( user1Nav,
+                user1LastNav,
+                ou2 );
+        doThrow( new IllegalStateException( "failed" ) ).when( ioServiceConfig ).write( eq( user1Nav ),
+                                                                                       anyString() );
+
+        try {
+            store.flush();
+            fail( "Expected IllegalStateException" );
+        } catch ( IllegalStateException expected ) {
+            //Expected
+        }
+
+        //The state is kept
+        assertEquals( "ou2",
+                      store.getUserContent( user1Nav ).getOrganizationalUnit().getName() );
+
+        doReturn( user1Nav ).when( ioServiceConfig ).write( eq( user1Nav ),
+                                                            anyString() );
+        store.flush();
+
+        verify( ioServiceConfig,
+                times( 2 ) ).write( eq( user1Nav ),
+                                    anyString() );
+        verify( ioServiceConfig,
+                times( 1 ) ).write( eq( user1LastNav ),
+                                    anyString() );
+        verify( ioServiceConfig,
+                times( 2 ) ).endBatch();
+    }
+
+    @Test
+    public void testStateIsReloadedAfterFlush() {
+        select( user1Nav,
+                user1LastNav,
+                ou1 );
+        store.flush();
+
+        when( ioServiceConfig.exists( user1Nav ) ).thenReturn( true );
+        when( ioServiceConfig.readAllString( user1Nav ) ).thenReturn( "<invalid/>" );
+
+        assertNull( store.getUserContent( user1Nav ) );
+        verify( ioServiceConfig ).readAllString( user1Nav );
+    }
+
+    private void select( final Path userNav,
+                         final Path lastUserNav,
+                         final OrganizationalUnit organizationalUnit ) {
+        store.update( userNav,
+                      lastUserNav,
+                      ( content ) -> {
+                          content.setOrganizationalUnit( organizationalUnit );
+                          final UserExplorerLastData lastContent = new UserExplorerLastData();
+                          lastContent.setOptions( new ActiveOptions( Option.BUSINESS_CONTENT ) );
+                          return lastContent;
+                      } );
+    }
+
+}
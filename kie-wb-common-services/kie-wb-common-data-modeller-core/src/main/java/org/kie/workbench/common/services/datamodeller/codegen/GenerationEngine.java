@@ -34,10 +34,13 @@ import org.slf4j.LoggerFactory;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Simple velocity based code adf engine.
@@ -47,13 +50,30 @@ public class GenerationEngine {
 
     private static final Logger logger = LoggerFactory.getLogger(GenerationEngine.class);
 
+    /**
+     * Initial capacity of the writers for generated assets, enough for a class of a few dozen fields.
+     */
+    private static final int ASSET_BUFFER_SIZE = 8192;
+
     private static GenerationEngine singleton;
 
     private VelocityEngine velocityEngine = new VelocityEngine();
 
+    /**
+     * Templates are parsed once and held, as the class resource loader does not cache them and a Template is
+     * thread safe once parsed.
+     */
+    private final ConcurrentMap<String, Template> templates = new ConcurrentHashMap<String, Template>();
+
+    /**
+     * Holds the stateless objects put in every VelocityContext. The context built for each call chains to this one,
+     * rather than creating and putting them again.
+     */
+    private final VelocityContext sharedContext = new VelocityContext();
+
     private static boolean inited = false;
 
-    public static GenerationEngine getInstance() throws Exception {
+    public static synchronized GenerationEngine getInstance() throws Exception {
         if (singleton == null) {
             singleton = new GenerationEngine();
             singleton.init();
@@ -78,6 +98,9 @@ public class GenerationEngine {
 
             // init velocity engine
             velocityEngine.init(properties);
+
+            sharedContext.put("engine", this);
+            sharedContext.put("nameTool", new GenerationTools());
             inited = true;
         }
     }
@@ -104,7 +127,7 @@ public class GenerationEngine {
         if (logger.isDebugEnabled()) logger.debug("Initial templatePath: " + templatePath);
 
         StringWriter writer = new StringWriter();
-        Template t = velocityEngine.getTemplate(templatePath);
+        Template t = getTemplate(templatePath);
         t.merge(context, writer);
     }
 
@@ -116,13 +139,12 @@ public class GenerationEngine {
      * @return A properly initialized VelocityContext.
      */
     private VelocityContext buildContext(GenerationContext generationContext) {
-        VelocityContext context = new VelocityContext();
+        // "engine" and "nameTool" are resolved from the shared context
+        VelocityContext context = new VelocityContext(sharedContext);
 
         // Add main objects to velocity context
-        context.put("engine", this);
         context.put("context", generationContext);
         context.put("dataModel", generationContext.getDataModel());
-        context.put("nameTool", new GenerationTools());
         generationContext.setVelocityContext(context);
 
         return context;
@@ -145,23 +167,25 @@ public class GenerationEngine {
         //read the template to use
         String templatePath = getFullVelocityPath(generationContext.getTemplatesPath(), template);
         VelocityContext context = buildContext(generationContext);
-        Template t = velocityEngine.getTemplate(templatePath);  //obs, templates are already cached by Velocity
+        Template t = getTemplate(templatePath);
 
         //generate asset content.
-        StringWriter writer = new StringWriter();
+        StringWriter writer = new StringWriter(ASSET_BUFFER_SIZE);
         generationContext.setCurrentOutput(writer);
         t.merge(context, writer);
+        String content = writer.toString();
 
         if (generationContext.getOutputPath() != null) {
             //generate the java file in the filesystem only if the output path was set in the adf context.
             File fout = new File(generationContext.getOutputPath(), filePath);
             fout.getParentFile().mkdirs();
-            FileOutputStream fos = new FileOutputStream(fout, false);
-            IOUtils.write(writer.toString(), fos);
+            try (OutputStream fos = new FileOutputStream(fout, false)) {
+                IOUtils.write(content, fos);
+            }
         }
 
         if (generationContext.getGenerationListener() != null) {
-            generationContext.getGenerationListener().assetGenerated(filePath, writer.toString());
+            generationContext.getGenerationListener().assetGenerated(filePath, content);
         }
     }
 
@@ -206,7 +230,7 @@ public class GenerationEngine {
         String templatePath = null;
         try {
             templatePath = getFullVelocityPath(generationContext.getTemplatesPath(), template);
-            Template t = velocityEngine.getTemplate(templatePath);
+            Template t = getTemplate(templatePath);
             t.merge(generationContext.getVelocityContext(), generationContext.getCurrentOutput());
         } catch (Exception e) {
             logger.error("An error was produced during template adf: template: " + template + ", templatePath: " + templatePath, e);
@@ -356,9 +380,8 @@ public class GenerationEngine {
      * Generate all annotations for a specific element (field, class, or method)
      */
     public String generateAllAnnotationsString(GenerationContext generationContext, HasAnnotations hasAnnotations, String indent) throws Exception {
-        VelocityContext vc = buildContext(generationContext);
         StringBuilder sb = new StringBuilder();
-        List<Annotation> annotations = ( (GenerationTools) vc.get( "nameTool" ) ).sortedAnnotations( hasAnnotations );
+        List<Annotation> annotations = ( (GenerationTools) sharedContext.get( "nameTool" ) ).sortedAnnotations( hasAnnotations );
         boolean isFirst = true;
         for ( Annotation a : annotations) {
             if (!isFirst) {
@@ -422,7 +445,7 @@ public class GenerationEngine {
         String templatePath = null;
         try {
             templatePath = getFullVelocityPath(generationContext.getTemplatesPath(), template);
-            Template t = velocityEngine.getTemplate(templatePath);
+            Template t = getTemplate(templatePath);
             t.merge(generationContext.getVelocityContext(), writer);
         } catch (Exception e) {
             logger.error("An error was produced during template adf: template: " + template + ", templatePath: " + templatePath, e);
@@ -451,6 +474,25 @@ public class GenerationEngine {
         return out.toString();
     }
 
+    /**
+     * Returns the parsed template for a given template path, parsing it on first use.
+     *
+     * @param templatePath Full path to the template.
+     *
+     * @return The parsed template.
+     */
+    Template getTemplate(String templatePath) {
+        Template template = templates.get(templatePath);
+        if (template == null) {
+            template = velocityEngine.getTemplate(templatePath);
+            Template current = templates.putIfAbsent(templatePath, template);
+            if (current != null) {
+                template = current;
+            }
+        }
+        return template;
+    }
+
     /**
      * Returns the path for a given template name.
      *
@@ -26,6 +26,11 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang3.StringUtils;
 import org.drools.core.base.ClassTypeResolver;
@@ -45,6 +50,7 @@ import org.jboss.forge.roaster.model.source.JavaSource;
 import org.jboss.forge.roaster.model.source.JavaEnumSource;
 import org.jboss.forge.roaster.model.source.MethodSource;
 import org.jboss.forge.roaster.model.source.ParameterSource;
+import org.kie.workbench.common.services.backend.async.ParallelTasks;
 import org.kie.workbench.common.services.datamodeller.codegen.GenerationContext;
 import org.kie.workbench.common.services.datamodeller.codegen.GenerationEngine;
 import org.kie.workbench.common.services.datamodeller.codegen.GenerationTools;
@@ -54,6 +60,7 @@ import org.kie.workbench.common.services.datamodeller.core.AnnotationValuePairDe
 import org.kie.workbench.common.services.datamodeller.core.DataModel;
 import org.kie.workbench.common.services.datamodeller.core.DataObject;
 import org.kie.workbench.common.services.datamodeller.core.ElementType;
+import org.kie.workbench.common.services.datamodeller.core.JavaEnum;
 import org.kie.workbench.common.services.datamodeller.core.ObjectProperty;
 import org.kie.workbench.common.services.datamodeller.core.Visibility;
 import org.kie.workbench.common.services.datamodeller.core.impl.DataObjectImpl;
@@ -162,51 +169,224 @@ public class JavaRoasterModelDriver implements ModelDriver {
     @Override
     public ModelDriverResult loadModel() throws ModelDriverException {
 
-        ModelDriverResult result = new ModelDriverResult();
-        DataModel dataModel;
-        String fileContent;
-        dataModel = createModel();
-        result.setDataModel( dataModel );
+        return mergeResults( loadFiles( scanFiles() ) );
+    }
 
+    /**
+     * Loads a number of .java files, each into a model of its own. Files are parsed concurrently with
+     * {@link ParallelTasks}, but the results are returned in the order of the files so that merging them is
+     * deterministic.
+     * @throws ModelDriverException The first unexpected error, in the order of the files. Errors in the content of a
+     * file are reported by the file's result instead.
+     */
+    public List<ModelDriverResult> loadFiles( final List<Path> files ) throws ModelDriverException {
+
+        return loadFiles( files, new ConcurrentHashMap<String, JavaType<?>>() );
+    }
+
+    /**
+     * Loads a number of .java files as {@link #loadFiles(List)} does, but only parses the files that are not held by
+     * parsedFiles, to which the files parsed are added. The models are built afresh from the parsed files, so the
+     * results never share their DataObjects.
+     * @param parsedFiles The parsed files, by the URI of the file.
+     */
+    public List<ModelDriverResult> loadFiles( final List<Path> files,
+                                              final ConcurrentMap<String, JavaType<?>> parsedFiles ) throws ModelDriverException {
+
+        List<ModelDriverResult> fileResults = new ArrayList<ModelDriverResult>( files.size() );
+        if ( files.size() < 2 ) {
+            for ( Path file : files ) {
+                fileResults.add( loadFile( file, parsedFiles ) );
+            }
+            return fileResults;
+        }
+
+        List<Callable<ModelDriverResult>> tasks = new ArrayList<Callable<ModelDriverResult>>( files.size() );
+        for ( final Path file : files ) {
+            tasks.add( () -> loadFile( file, parsedFiles ) );
+        }
+        try {
+            for ( Future<ModelDriverResult> future : ParallelTasks.invokeAll( tasks ) ) {
+                fileResults.add( future.get() );
+            }
+        } catch ( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            throw new ModelDriverException( errorMessage( MODEL_LOAD_GENERIC_ERROR, javaRootPath.toUri() ), e );
+        } catch ( ExecutionException e ) {
+            if ( e.getCause() instanceof ModelDriverException ) {
+                throw ( ModelDriverException ) e.getCause();
+            }
+            logger.error( errorMessage( MODEL_LOAD_GENERIC_ERROR, javaRootPath.toUri() ), e.getCause() );
+            throw new ModelDriverException( errorMessage( MODEL_LOAD_GENERIC_ERROR, javaRootPath.toUri() ), e.getCause() );
+        }
+        return fileResults;
+    }
+
+    private ModelDriverResult loadFile( final Path file,
+                                        final ConcurrentMap<String, JavaType<?>> parsedFiles ) throws ModelDriverException {
+
+        final JavaType<?> javaType = getParsedFile( file, parsedFiles );
+        if ( javaType == null ) {
+            return loadFile( file, null );
+        }
+        //a parsed file can be shared by concurrent loads, and Roaster types are not thread safe.
+        synchronized ( javaType ) {
+            return loadFile( file, javaType );
+        }
+    }
+
+    private JavaType<?> getParsedFile( final Path file,
+                                       final ConcurrentMap<String, JavaType<?>> parsedFiles ) throws ModelDriverException {
+
+        final String uri = Paths.convert( file ).toURI();
+        JavaType<?> javaType = parsedFiles.get( uri );
+        if ( javaType == null ) {
+            javaType = parseFile( file );
+            if ( javaType != null ) {
+                parsedFiles.put( uri, javaType );
+            }
+        }
+        return javaType;
+    }
+
+    /**
+     * Finds the classes of a number of .java files that are annotated with the given annotation. No DataObjects are
+     * built and no classes are resolved, so neither the ClassLoader nor the project dependencies are needed. Only the
+     * files that are not held by parsedFiles are parsed, and the files parsed are added to it.
+     * @param parsedFiles The parsed files, by the URI of the file.
+     * @return The fully qualified names of the annotated classes, in the order of the files.
+     */
+    public List<String> findAnnotatedClasses( final List<Path> files,
+                                              final ConcurrentMap<String, JavaType<?>> parsedFiles,
+                                              final String annotationClassName ) throws ModelDriverException {
+
+        List<String> classes = new ArrayList<String>();
+        for ( Path file : files ) {
+            JavaType<?> javaType = getParsedFile( file, parsedFiles );
+            if ( javaType == null || !javaType.isClass() ) {
+                continue;
+            }
+            synchronized ( javaType ) {
+                if ( ( javaType.getSyntaxErrors() == null || javaType.getSyntaxErrors().isEmpty() ) &&
+                        !isVetoed( javaType ) &&
+                        ( ( JavaClassSource ) javaType ).hasAnnotation( annotationClassName ) ) {
+                    classes.add( javaType.getQualifiedName() );
+                }
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * @return The .java files that make up the model.
+     */
+    public List<Path> scanFiles() {
+
+        List<Path> files = new ArrayList<Path>();
         List<Path> rootPaths = new ArrayList<Path>();
         rootPaths.add( javaRootPath );
 
         Collection<FileUtils.ScanResult> scanResults = FileUtils.getInstance().scan( ioService, rootPaths, ".java", true );
         if ( scanResults != null ) {
             for ( FileUtils.ScanResult scanResult : scanResults ) {
+                files.add( scanResult.getFile() );
+            }
+        }
+        return files;
+    }
 
-                logger.debug( "Starting file loading into model, file: " + scanResult.getFile() );
-                fileContent = ioService.readAllString( scanResult.getFile() );
-                if ( fileContent == null || "".equals( fileContent ) ) {
-                    logger.debug( "file: " + scanResult.getFile() + " is empty." );
-                    continue;
-                }
-                try {
-                    JavaType<?> javaType = Roaster.parse( fileContent );
-                    final boolean isManaged = isManagedJavaType( javaType );
-                    final boolean vetoed = ( isManaged ? isVetoed( javaType ) : false );
-                    if ( isManaged && !vetoed ) {
-                        if ( javaType.getSyntaxErrors() != null && !javaType.getSyntaxErrors().isEmpty() ) {
-                            //if a file has parsing errors it will be skipped.
-                            addSyntaxErrors( result, scanResult.getFile(), javaType.getSyntaxErrors() );
-                        } else if ( javaType.isEnum() ) {
-                            loadFromJavaEnum( ( JavaEnumSource ) javaType, scanResult.getFile(), dataModel, result);
-                        } else {
-                            loadFromJavaClass( ( JavaClassSource ) javaType, scanResult.getFile(), dataModel, result );
-                        }
-                    } else if ( vetoed ) {
-                        logger.debug( "The class, {}, in the file, {}, was vetoed and will be skipped.",
-                                      javaType.getQualifiedName(),
-                                      scanResult.getFile() );
-                    } else {
-                        logger.debug( "File: " + scanResult.getFile() + " do not contain a managed java type, it will be skipped." );
-                    }
-                } catch ( Exception e ) {
-                    //Unexpected parsing or model loading exception.
-                    logger.error( errorMessage( MODEL_LOAD_GENERIC_ERROR, javaRootPath.toUri() ), e );
-                    throw new ModelDriverException( errorMessage( MODEL_LOAD_GENERIC_ERROR, javaRootPath.toUri() ), e );
+    /**
+     * Loads a single .java file into a model of its own. The models of the files returned by {@link #scanFiles()}
+     * are combined into the complete model by {@link #mergeResults(Collection)}.
+     */
+    public ModelDriverResult loadFile( final Path file ) throws ModelDriverException {
+
+        return loadFile( file, parseFile( file ) );
+    }
+
+    /**
+     * Parses a single .java file.
+     * @return The parsed file, or null if the file is empty.
+     */
+    public JavaType<?> parseFile( final Path file ) throws ModelDriverException {
+
+        logger.debug( "Starting file parsing, file: " + file );
+        String fileContent = ioService.readAllString( file );
+        if ( fileContent == null || "".equals( fileContent ) ) {
+            logger.debug( "file: " + file + " is empty." );
+            return null;
+        }
+        try {
+            return Roaster.parse( fileContent );
+        } catch ( Exception e ) {
+            //Unexpected parsing exception.
+            logger.error( errorMessage( MODEL_LOAD_GENERIC_ERROR, javaRootPath.toUri() ), e );
+            throw new ModelDriverException( errorMessage( MODEL_LOAD_GENERIC_ERROR, javaRootPath.toUri() ), e );
+        }
+    }
+
+    /**
+     * Loads a parsed .java file into a model of its own.
+     * @param javaType The file parsed by {@link #parseFile(Path)}, or null if the file is empty.
+     */
+    public ModelDriverResult loadFile( final Path file,
+                                       final JavaType<?> javaType ) throws ModelDriverException {
+
+        ModelDriverResult result = new ModelDriverResult();
+        DataModel dataModel = createModel();
+        result.setDataModel( dataModel );
+
+        if ( javaType == null ) {
+            return result;
+        }
+        logger.debug( "Starting file loading into model, file: " + file );
+        try {
+            final boolean isManaged = isManagedJavaType( javaType );
+            final boolean vetoed = ( isManaged ? isVetoed( javaType ) : false );
+            if ( isManaged && !vetoed ) {
+                if ( javaType.getSyntaxErrors() != null && !javaType.getSyntaxErrors().isEmpty() ) {
+                    //if a file has parsing errors it will be skipped.
+                    addSyntaxErrors( result, file, javaType.getSyntaxErrors() );
+                } else if ( javaType.isEnum() ) {
+                    loadFromJavaEnum( ( JavaEnumSource ) javaType, file, dataModel, result);
+                } else {
+                    loadFromJavaClass( ( JavaClassSource ) javaType, file, dataModel, result );
                 }
+            } else if ( vetoed ) {
+                logger.debug( "The class, {}, in the file, {}, was vetoed and will be skipped.",
+                              javaType.getQualifiedName(),
+                              file );
+            } else {
+                logger.debug( "File: " + file + " do not contain a managed java type, it will be skipped." );
+            }
+        } catch ( Exception e ) {
+            //Unexpected model loading exception.
+            logger.error( errorMessage( MODEL_LOAD_GENERIC_ERROR, javaRootPath.toUri() ), e );
+            throw new ModelDriverException( errorMessage( MODEL_LOAD_GENERIC_ERROR, javaRootPath.toUri() ), e );
+        }
+        return result;
+    }
+
+    /**
+     * Combines the results of loading individual files into a single model. The DataObjects and JavaEnums of the
+     * file results are added to the combined model, not copied.
+     */
+    public ModelDriverResult mergeResults( final Collection<ModelDriverResult> fileResults ) {
+
+        ModelDriverResult result = new ModelDriverResult();
+        DataModel dataModel = createModel();
+        result.setDataModel( dataModel );
+
+        for ( ModelDriverResult fileResult : fileResults ) {
+            for ( DataObject dataObject : fileResult.getDataModel().getDataObjects() ) {
+                dataModel.addDataObject( dataObject );
+            }
+            for ( JavaEnum javaEnum : fileResult.getDataModel().getJavaEnums() ) {
+                dataModel.addJavaEnum( javaEnum );
             }
+            result.getClassPaths().putAll( fileResult.getClassPaths() );
+            result.getUnmanagedProperties().putAll( fileResult.getUnmanagedProperties() );
+            result.withErrors( fileResult.getErrors() );
         }
         return result;
     }
@@ -17,6 +17,7 @@
 package org.kie.workbench.common.services.datamodeller.codegen;
 
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -24,6 +25,7 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 
+import org.apache.velocity.Template;
 import org.junit.Before;
 import org.junit.Test;
 import org.kie.workbench.common.services.datamodeller.core.Annotation;
@@ -627,4 +629,51 @@ public class GenerationEngineTest {
         }
     }
 
+    @Test
+    public void testTemplatesAreParsedOnce() {
+        Template template = engine.getTemplate( "/org/kie/workbench/common/services/datamodeller/codegen/java_class2.vm" );
+        assertSame( template, engine.getTemplate( "/org/kie/workbench/common/services/datamodeller/codegen/java_class2.vm" ) );
+    }
+
+    @Test
+    public void testModelGeneration() throws Exception {
+
+        DataModel dataModel = dataModelOracleDriver.createModel();
+        for ( int i = 0; i < 50; i++ ) {
+            DataObject object = dataModel.addDataObject( "com.test.Object" + i );
+            object.addProperty( "attribute1", "java.lang.String" );
+            object.addProperty( "attribute2", "com.test.Object" + ( ( i + 1 ) % 50 ) );
+        }
+
+        final List<String> fileNames = new ArrayList<String>();
+        final List<String> contents = new ArrayList<String>();
+        GenerationListener listener = new GenerationListener() {
+            @Override
+            public void assetGenerated( String fileName, String content ) {
+                fileNames.add( fileName );
+                contents.add( content );
+            }
+        };
+
+        GenerationContext generationContext = new GenerationContext( dataModel );
+        generationContext.setGenerationListener( listener );
+        engine.generate( generationContext );
+
+        assertEquals( 50, fileNames.size() );
+        assertTrue( fileNames.contains( "/com/test/Object7.java" ) );
+        int index = fileNames.indexOf( "/com/test/Object7.java" );
+        assertTrue( contents.get( index ).contains( "public class Object7" ) );
+        assertTrue( contents.get( index ).contains( "com.test.Object8 attribute2" ) );
+
+        // a second generation over the held templates produces the same assets
+        List<String> firstContents = new ArrayList<String>( contents );
+        fileNames.clear();
+        contents.clear();
+        generationContext = new GenerationContext( dataModel );
+        generationContext.setGenerationListener( listener );
+        engine.generate( generationContext );
+
+        assertEquals( firstContents, contents );
+    }
+
 }
@@ -17,7 +17,9 @@
 package org.kie.workbench.common.services.datamodeller.driver;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -31,7 +33,10 @@ import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.annotation.Generated;
 import javax.enterprise.inject.Instance;
@@ -42,6 +47,7 @@ import javax.persistence.UniqueConstraint;
 
 import org.drools.core.base.ClassTypeResolver;
 import org.jboss.forge.roaster.Roaster;
+import org.jboss.forge.roaster.model.JavaType;
 import org.jboss.forge.roaster.model.source.JavaClassSource;
 import org.junit.Before;
 import org.junit.Test;
@@ -211,6 +217,77 @@ public class JavaRoasterModelDriverTest {
         }
     }
 
+    @Test
+    public void loadFilesTest() throws Exception {
+        String uriToResource = this.getClass().getResource( "projectRoot.txt" ).toURI().toString();
+        URI uriToRootPath = URI.create( uriToResource.substring( 0, uriToResource.length() - "projectRoot.txt".length() ) );
+        Path rootPath = simpleFileSystemProvider.getPath( uriToRootPath );
+
+        final SourceFilter sourceFilter = javaType -> false;
+        final NestedClassFilter nestedClassFilter = javaType -> javaType.isClass() && javaType.getAnnotation( Generated.class ) != null;
+        final MethodFilter methodFilter = method -> !method.isConstructor() && method.getAnnotation( Generated.class ) != null;
+
+        FilterHolder filterHolder = mock( FilterHolder.class );
+        when( filterHolder.getSourceFilters() ).thenReturn( Collections.singleton( sourceFilter ) );
+        when( filterHolder.getNestedClassFilters() ).thenReturn( Collections.singleton( nestedClassFilter ) );
+        when( filterHolder.getMethodFilters() ).thenReturn( Collections.singleton( methodFilter ) );
+
+        JavaRoasterModelDriver javaRoasterModelDriver = new JavaRoasterModelDriver( ioService,
+                                                                                    rootPath,
+                                                                                    getClass().getClassLoader(),
+                                                                                    filterHolder );
+
+        List<Path> files = javaRoasterModelDriver.scanFiles();
+        List<ModelDriverResult> fileResults = javaRoasterModelDriver.loadFiles( files );
+
+        //results are in the order of the files, whichever order they were parsed in
+        assertEquals( files.size(), fileResults.size() );
+        for ( int i = 0; i < files.size(); i++ ) {
+            ModelDriverResult expected = javaRoasterModelDriver.loadFile( files.get( i ) );
+            assertEquals( expected.getClassPaths(), fileResults.get( i ).getClassPaths() );
+            assertEquals( expected.getErrors().size(), fileResults.get( i ).getErrors().size() );
+        }
+
+        DataModel dataModel = javaRoasterModelDriver.mergeResults( fileResults ).getDataModel();
+        DataModel dataModelOriginal = createModel();
+        assertEquals( dataModelOriginal.getDataObjects().size(), dataModel.getDataObjects().size() );
+        for ( DataObject dataObject : dataModelOriginal.getDataObjects() ) {
+            DataModelerAssert.assertEqualsDataObject( dataObject, dataModel.getDataObject( dataObject.getClassName() ) );
+        }
+    }
+
+    @Test
+    public void findAnnotatedClassesTest() throws Exception {
+        String uriToResource = this.getClass().getResource( "projectRoot.txt" ).toURI().toString();
+        URI uriToRootPath = URI.create( uriToResource.substring( 0, uriToResource.length() - "projectRoot.txt".length() ) );
+        Path rootPath = simpleFileSystemProvider.getPath( uriToRootPath );
+
+        FilterHolder filterHolder = mock( FilterHolder.class );
+        when( filterHolder.getSourceFilters() ).thenReturn( Collections.emptySet() );
+        when( filterHolder.getNestedClassFilters() ).thenReturn( Collections.emptySet() );
+        when( filterHolder.getMethodFilters() ).thenReturn( Collections.emptySet() );
+
+        //classes are not resolved, so no ClassLoader is needed
+        JavaRoasterModelDriver javaRoasterModelDriver = new JavaRoasterModelDriver( ioService,
+                                                                                    rootPath,
+                                                                                    null,
+                                                                                    filterHolder );
+
+        List<Path> files = javaRoasterModelDriver.scanFiles();
+        ConcurrentMap<String, JavaType<?>> parsedFiles = new ConcurrentHashMap<String, JavaType<?>>();
+        List<String> classes = javaRoasterModelDriver.findAnnotatedClasses( files, parsedFiles, Entity.class.getName() );
+
+        List<String> expected = new ArrayList<String>();
+        for ( DataObject dataObject : createModel().getDataObjects() ) {
+            if ( dataObject.getAnnotation( Entity.class.getName() ) != null ) {
+                expected.add( dataObject.getClassName() );
+            }
+        }
+        assertEquals( new HashSet<String>( expected ), new HashSet<String>( classes ) );
+        assertTrue( classes.contains( "org.kie.workbench.common.services.datamodeller.driver.package1.Pojo1" ) );
+        assertFalse( parsedFiles.isEmpty() );
+    }
+
     @Test
     public void updateAnnotationsTest() {
 
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shared cache of the results of {@link ClassFieldInspector} and {@link ClassMethodInspector}.
+ * <p>
+ * Only classes that do not change between builds are cached; i.e. those defined by the JDK, the application or a
+ * registered dependency ClassLoader. Classes compiled from a Project are defined by a new ClassLoader on each build
+ * and are always inspected afresh. Cached results are held against the Class, so are discarded when the defining
+ * ClassLoader is garbage collected.
+ */
+public final class ClassInspectorCache {
+
+    private static final LongAdder REQUEST_COUNT = new LongAdder();
+
+    private static final LongAdder INSPECTION_COUNT = new LongAdder();
+
+    private static final Set<ClassLoader> SHARED_CLASS_LOADERS = Collections.synchronizedSet( Collections.newSetFromMap( new WeakHashMap<ClassLoader, Boolean>() ) );
+
+    private static final ClassValue<ClassFieldInspector> FIELD_INSPECTORS = new ClassValue<ClassFieldInspector>() {
+        @Override
+        protected ClassFieldInspector computeValue( final Class<?> clazz ) {
+            INSPECTION_COUNT.increment();
+            return new ClassFieldInspector( clazz );
+        }
+    };
+
+    private static final ClassValue<ClassMethodInspector> METHOD_INSPECTORS = new ClassValue<ClassMethodInspector>() {
+        @Override
+        protected ClassMethodInspector computeValue( final Class<?> clazz ) {
+            INSPECTION_COUNT.increment();
+            try {
+                return new ClassMethodInspector( clazz,
+                                                 new JavaTypeSystemTranslator() );
+            } catch ( IOException ioe ) {
+                throw new UncheckedIOException( ioe );
+            }
+        }
+    };
+
+    private ClassInspectorCache() {
+    }
+
+    /**
+     * Register a ClassLoader whose classes do not change, such as that holding a Project's dependencies.
+     * The ClassLoader is only weakly referenced.
+     */
+    public static void registerSharedClassLoader( final ClassLoader classLoader ) {
+        if ( classLoader != null ) {
+            SHARED_CLASS_LOADERS.add( classLoader );
+        }
+    }
+
+    public static ClassFieldInspector getFieldInspector( final Class<?> clazz ) {
+        if ( !isShared( clazz ) ) {
+            return new ClassFieldInspector( clazz );
+        }
+        REQUEST_COUNT.increment();
+        return FIELD_INSPECTORS.get( clazz );
+    }
+
+    public static ClassMethodInspector getMethodInspector( final Class<?> clazz ) throws IOException {
+        if ( !isShared( clazz ) ) {
+            return new ClassMethodInspector( clazz,
+                                             new JavaTypeSystemTranslator() );
+        }
+        REQUEST_COUNT.increment();
+        try {
+            return METHOD_INSPECTORS.get( clazz );
+        } catch ( UncheckedIOException uioe ) {
+            throw uioe.getCause();
+        }
+    }
+
+    /**
+     * @return The number of requests for a cacheable class, including those that caused the class to be inspected
+     */
+    public static long getRequestCount() {
+        return REQUEST_COUNT.sum();
+    }
+
+    /**
+     * @return The number of times a cacheable class has been inspected
+     */
+    public static long getInspectionCount() {
+        return INSPECTION_COUNT.sum();
+    }
+
+    static boolean isShared( final Class<?> clazz ) {
+        final ClassLoader classLoader = clazz.getClassLoader();
+        if ( classLoader == null ) {
+            return true;
+        }
+        if ( SHARED_CLASS_LOADERS.contains( classLoader ) ) {
+            return true;
+        }
+        for ( ClassLoader cl = ClassInspectorCache.class.getClassLoader(); cl != null; cl = cl.getParent() ) {
+            if ( cl == classLoader ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.datamodel.backend.server.cache;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
+import org.drools.workbench.models.datamodel.oracle.TypeSource;
+
+/**
+ * The part of a Project's DataModelOracle contributed by a single class; i.e. the class itself and the
+ * field types discovered whilst reflecting on it. Fragments are kept between builds so that classes
+ * that have not changed do not need to be reflected upon again. Fields and super types inherited from
+ * the Project's dependencies are not covered by the bytecode digests, so fragments are only reused
+ * whilst the Project's dependencies ClassLoader is unchanged.
+ */
+class FactTypeFragment {
+
+    private final String className;
+    private final Class<?> clazz;
+    private final boolean isEvent;
+    private final TypeSource typeSource;
+    private final ProjectDataModelOracle oracle;
+    private final Map<String, String> digests;
+    private final ClassLoader dependenciesClassLoader;
+
+    FactTypeFragment( final Class<?> clazz,
+                      final boolean isEvent,
+                      final TypeSource typeSource,
+                      final ProjectDataModelOracle oracle,
+                      final Function<String, String> digestResolver,
+                      final ClassLoader dependenciesClassLoader ) {
+        this.className = clazz.getName();
+        this.dependenciesClassLoader = dependenciesClassLoader;
+        this.isEvent = isEvent;
+        this.typeSource = typeSource;
+        this.oracle = oracle;
+        this.digests = resolveDigests( digestResolver );
+        //Project classes are identified by their bytecode; don't retain them, or their ClassLoader, between builds
+        this.clazz = ( digests.containsKey( className ) ? null : clazz );
+    }
+
+    String getClassName() {
+        return className;
+    }
+
+    ProjectDataModelOracle getOracle() {
+        return oracle;
+    }
+
+    /**
+     * A fragment can be reused if the Project's dependencies are loaded by the same ClassLoader instance and it was
+     * built for the same Class instance (classes loaded from dependencies or the application ClassLoader) or, for
+     * classes compiled from the Project, if the bytecode of the class and of every Project class it references is
+     * unchanged.
+     */
+    boolean isReusableFor( final Class<?> clazz,
+                           final boolean isEvent,
+                           final TypeSource typeSource,
+                           final Function<String, String> digestResolver,
+                           final ClassLoader dependenciesClassLoader ) {
+        if ( this.dependenciesClassLoader != dependenciesClassLoader ) {
+            return false;
+        }
+        if ( this.isEvent != isEvent || this.typeSource != typeSource ) {
+            return false;
+        }
+        if ( this.clazz == clazz ) {
+            return true;
+        }
+        if ( !className.equals( clazz.getName() ) || !digests.containsKey( className ) ) {
+            return false;
+        }
+        for ( Map.Entry<String, String> e : digests.entrySet() ) {
+            if ( !Objects.equals( e.getValue(),
+                                  digestResolver.apply( e.getKey() ) ) ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Map<String, String> resolveDigests( final Function<String, String> digestResolver ) {
+        final Map<String, String> digests = new HashMap<String, String>();
+        addDigests( Collections.singleton( className ),
+                    digestResolver,
+                    digests );
+        addDigests( oracle.getProjectModelFields().keySet(),
+                    digestResolver,
+                    digests );
+        for ( List<String> superTypes : oracle.getProjectSuperTypes().values() ) {
+            addDigests( superTypes,
+                        digestResolver,
+                        digests );
+        }
+        return digests;
+    }
+
+    private void addDigests( final Iterable<String> types,
+                             final Function<String, String> digestResolver,
+                             final Map<String, String> digests ) {
+        for ( String type : types ) {
+            if ( type == null || digests.containsKey( type ) ) {
+                continue;
+            }
+            final String digest = digestResolver.apply( type );
+            if ( digest != null ) {
+                digests.put( type,
+                             digest );
+            }
+        }
+    }
+
+}
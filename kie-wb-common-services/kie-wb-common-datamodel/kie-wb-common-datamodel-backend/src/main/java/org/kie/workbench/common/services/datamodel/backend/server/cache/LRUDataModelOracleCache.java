@@ -137,19 +137,25 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
                                                                             final Package pkg) {
         PackageDataModelOracle oracle = getEntry(pkg);
         if (oracle == null) {
+            final ProjectDataModelOracle projectOracle = cacheProjects.assertProjectDataModelOracle(project);
             oracle = makePackageDataModelOracle(project,
-                                                pkg);
-            setEntry(pkg,
-                     oracle);
+                                                pkg,
+                                                projectOracle);
+            //Whilst the ProjectOracle is being rebuilt the previous one is returned; don't cache what is built from it
+            if (cacheProjects.isCurrent(project,
+                                        projectOracle)) {
+                setEntry(pkg,
+                         oracle);
+            }
         }
         return oracle;
     }
 
     private PackageDataModelOracle makePackageDataModelOracle(final KieProject project,
-                                                              final Package pkg) {
+                                                              final Package pkg,
+                                                              final ProjectDataModelOracle projectOracle) {
         final String packageName = pkg.getPackageName();
         final PackageDataModelOracleBuilder dmoBuilder = PackageDataModelOracleBuilder.newPackageOracleBuilder(packageName);
-        final ProjectDataModelOracle projectOracle = cacheProjects.assertProjectDataModelOracle(project);
         dmoBuilder.setProjectOracle(projectOracle);
 
         //Add Guvnor enumerations
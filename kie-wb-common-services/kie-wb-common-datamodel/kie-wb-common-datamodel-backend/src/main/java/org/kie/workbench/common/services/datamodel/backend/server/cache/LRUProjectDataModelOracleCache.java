@@ -15,13 +15,18 @@
 
 package org.kie.workbench.common.services.datamodel.backend.server.cache;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 import javax.inject.Named;
 
 import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
-import org.guvnor.common.services.backend.cache.LRUCache;
 import org.guvnor.common.services.project.builder.events.InvalidateDMOProjectCacheEvent;
 import org.kie.workbench.common.services.backend.builder.service.BuildInfoService;
 import org.kie.workbench.common.services.shared.project.KieProject;
@@ -30,17 +35,28 @@ import org.uberfire.backend.vfs.Path;
 import org.uberfire.commons.validation.PortablePreconditions;
 
 /**
- * A simple LRU cache for Project DataModelOracles
+ * A concurrent LRU cache for Project DataModelOracles.
+ * <p>
+ * Invalidation marks a Project's DataModelOracle as stale rather than discarding it. The next request rebuilds the
+ * DataModelOracle, re-using the fragments of classes that have not changed, whilst concurrent requests for the same
+ * Project continue to receive the previous DataModelOracle until the new one is published. Requests for different
+ * Projects do not block one another. See {@link #isCurrent(KieProject, ProjectDataModelOracle)} for caches of data
+ * derived from the DataModelOracle.
  */
 @ApplicationScoped
 @Named("ProjectDataModelOracleCache")
-public class LRUProjectDataModelOracleCache
-        extends LRUCache<KieProject, ProjectDataModelOracle> {
+public class LRUProjectDataModelOracleCache {
+
+    static final int MAX_ENTRIES = 20;
 
     private ProjectDataModelOracleBuilderProvider builderProvider;
     private KieProjectService projectService;
     private BuildInfoService buildInfoService;
 
+    private final ConcurrentMap<KieProject, ProjectEntry> entries = new ConcurrentHashMap<KieProject, ProjectEntry>();
+
+    private final Object evictionLock = new Object();
+
     public LRUProjectDataModelOracleCache() {
     }
 
@@ -53,7 +69,7 @@ public class LRUProjectDataModelOracleCache
         this.buildInfoService = buildInfoService;
     }
 
-    public synchronized void invalidateProjectCache( @Observes final InvalidateDMOProjectCacheEvent event ) {
+    public void invalidateProjectCache( @Observes final InvalidateDMOProjectCacheEvent event ) {
         PortablePreconditions.checkNotNull( "event",
                                             event );
         final Path resourcePath = event.getResourcePath();
@@ -66,19 +82,133 @@ public class LRUProjectDataModelOracleCache
     }
 
     //Check the ProjectOracle for the Project has been created, otherwise create one!
-    public synchronized ProjectDataModelOracle assertProjectDataModelOracle( final KieProject project ) {
-        ProjectDataModelOracle projectOracle = getEntry( project );
-        if ( projectOracle == null ) {
-            projectOracle = makeProjectOracle( project );
-            setEntry( project,
-                      projectOracle );
+    public ProjectDataModelOracle assertProjectDataModelOracle( final KieProject project ) {
+        PortablePreconditions.checkNotNull( "project",
+                                            project );
+        final ProjectEntry entry = getOrCreateEntry( project ).touch();
+        final ProjectDataModelOracle snapshot = entry.oracle;
+        if ( snapshot != null && !entry.stale ) {
+            return snapshot;
+        }
+
+        if ( snapshot == null ) {
+            entry.lock.lock();
+        } else if ( !entry.lock.tryLock() ) {
+            //Another thread is rebuilding the ProjectOracle; use the previous one until it is published
+            return snapshot;
+        }
+        try {
+            if ( entry.oracle != null && !entry.stale ) {
+                return entry.oracle;
+            }
+            //Invalidations received whilst building must cause a subsequent rebuild
+            entry.stale = false;
+            try {
+                return makeProjectOracle( project,
+                                          entry );
+            } catch ( RuntimeException | Error e ) {
+                entry.stale = true;
+                throw e;
+            }
+        } finally {
+            entry.lock.unlock();
+            evictIfNecessary();
+        }
+    }
+
+    /**
+     * Mark the ProjectOracle for the Project as stale. It is rebuilt on the next request.
+     */
+    public void invalidateCache( final KieProject project ) {
+        final ProjectEntry entry = entries.get( project );
+        if ( entry != null ) {
+            entry.stale = true;
         }
+    }
+
+    /**
+     * Whether the ProjectOracle is the up to date one for the Project, rather than the previous one returned whilst
+     * a rebuild is pending or in progress.
+     */
+    public boolean isCurrent( final KieProject project,
+                              final ProjectDataModelOracle oracle ) {
+        final ProjectEntry entry = entries.get( project );
+        return entry != null && !entry.stale && !entry.lock.isLocked() && entry.oracle == oracle;
+    }
+
+    public void invalidateCache() {
+        entries.clear();
+    }
+
+    public Set<KieProject> getKeys() {
+        return Collections.unmodifiableSet( entries.keySet() );
+    }
+
+    private ProjectEntry getOrCreateEntry( final KieProject project ) {
+        final ProjectEntry entry = entries.get( project );
+        if ( entry != null ) {
+            return entry;
+        }
+        final ProjectEntry newEntry = new ProjectEntry();
+        final ProjectEntry existing = entries.putIfAbsent( project,
+                                                           newEntry );
+        return ( existing == null ? newEntry : existing );
+    }
+
+    private ProjectDataModelOracle makeProjectOracle( final KieProject project,
+                                                      final ProjectEntry entry ) {
+        final ProjectDataModelOracleBuilderProvider.InnerBuilder builder = builderProvider.newBuilder( project,
+                                                                                                       buildInfoService.getBuildInfo( project ),
+                                                                                                       entry.fragments );
+        final ProjectDataModelOracle projectOracle = builder.build();
+        entry.fragments = builder.getFragments();
+        entry.oracle = projectOracle;
         return projectOracle;
     }
 
-    private ProjectDataModelOracle makeProjectOracle( final KieProject project ) {
-        return builderProvider.newBuilder( project,
-                                           buildInfoService.getBuildInfo( project ) ).build();
+    private void evictIfNecessary() {
+        synchronized ( evictionLock ) {
+            while ( entries.size() > MAX_ENTRIES ) {
+                final Map.Entry<KieProject, ProjectEntry> eldest = findEldestIdleEntry();
+                if ( eldest == null ) {
+                    return;
+                }
+                entries.remove( eldest.getKey(),
+                                eldest.getValue() );
+            }
+        }
+    }
+
+    private Map.Entry<KieProject, ProjectEntry> findEldestIdleEntry() {
+        Map.Entry<KieProject, ProjectEntry> eldest = null;
+        for ( Map.Entry<KieProject, ProjectEntry> e : entries.entrySet() ) {
+            //ProjectOracles being built cannot be evicted
+            if ( e.getValue().lock.isLocked() ) {
+                continue;
+            }
+            if ( eldest == null || e.getValue().lastAccess < eldest.getValue().lastAccess ) {
+                eldest = e;
+            }
+        }
+        return eldest;
+    }
+
+    private static class ProjectEntry {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private volatile ProjectDataModelOracle oracle;
+
+        private volatile Map<String, FactTypeFragment> fragments = Collections.emptyMap();
+
+        private volatile boolean stale;
+
+        private volatile long lastAccess = System.nanoTime();
+
+        private ProjectEntry touch() {
+            lastAccess = System.nanoTime();
+            return this;
+        }
     }
 
-}
\ No newline at end of file
+}
@@ -15,17 +15,35 @@
  */
 package org.kie.workbench.common.services.datamodel.backend.server.cache;
 
-import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 import javax.inject.Inject;
 
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
 import org.drools.workbench.models.datamodel.imports.Import;
 import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracleImpl;
 import org.drools.workbench.models.datamodel.oracle.TypeSource;
+import org.kie.api.builder.KieModule;
 import org.kie.scanner.KieModuleMetaData;
+import org.kie.workbench.common.services.backend.async.ParallelTasks;
 import org.kie.workbench.common.services.backend.builder.service.BuildInfo;
 import org.kie.workbench.common.services.backend.builder.core.TypeSourceResolver;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.projects.ClassInspectorCache;
 import org.kie.workbench.common.services.datamodel.backend.server.builder.projects.ProjectDataModelOracleBuilder;
 import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.services.shared.project.ProjectImportsService;
@@ -56,29 +74,61 @@ public class ProjectDataModelOracleBuilderProvider {
 
     public InnerBuilder newBuilder( final KieProject project,
                                     final BuildInfo buildInfo ) {
+        return newBuilder(project,
+                          buildInfo,
+                          Collections.<String, FactTypeFragment>emptyMap());
+    }
+
+    /**
+     * Create a builder that re-uses the fragments of a previous build for classes that have not changed.
+     * @param project The Project
+     * @param buildInfo Build information for the Project
+     * @param previousFragments Fragments returned by {@link InnerBuilder#getFragments()} of a previous build. Not null.
+     */
+    InnerBuilder newBuilder( final KieProject project,
+                             final BuildInfo buildInfo,
+                             final Map<String, FactTypeFragment> previousFragments ) {
 
         final KieModuleMetaData kieModuleMetaData = buildInfo.getKieModuleMetaDataIgnoringErrors();
         final TypeSourceResolver typeSourceResolver = buildInfo.getTypeSourceResolver(kieModuleMetaData);
 
+        //Classes from the Project's dependencies do not change between builds; see LRUProjectDependenciesClassLoaderCache
+        final ClassLoader dependenciesClassLoader = kieModuleMetaData.getClassLoader().getParent();
+        ClassInspectorCache.registerSharedClassLoader(dependenciesClassLoader);
+
         return new InnerBuilder(project,
                                 kieModuleMetaData,
-                                typeSourceResolver);
+                                typeSourceResolver,
+                                new BytecodeDigestResolver(buildInfo.getKieModuleIgnoringErrors()),
+                                dependenciesClassLoader,
+                                previousFragments);
     }
 
     class InnerBuilder {
 
-        private final ProjectDataModelOracleBuilder pdBuilder = ProjectDataModelOracleBuilder.newProjectOracleBuilder();
+        private final List<String> packageNames = new ArrayList<String>();
+        private final Map<String, ClassEntry> classes = new HashMap<String, ClassEntry>();
+        private final Map<String, FactTypeFragment> fragments = new HashMap<String, FactTypeFragment>();
 
         private final KieProject project;
         private final KieModuleMetaData kieModuleMetaData;
         private final TypeSourceResolver typeSourceResolver;
+        private final Function<String, String> digestResolver;
+        private final ClassLoader dependenciesClassLoader;
+        private final Map<String, FactTypeFragment> previousFragments;
 
         private InnerBuilder(final KieProject project,
                              final KieModuleMetaData kieModuleMetaData,
-                             final TypeSourceResolver typeSourceResolver) {
+                             final TypeSourceResolver typeSourceResolver,
+                             final Function<String, String> digestResolver,
+                             final ClassLoader dependenciesClassLoader,
+                             final Map<String, FactTypeFragment> previousFragments) {
             this.project = project;
             this.kieModuleMetaData = kieModuleMetaData;
             this.typeSourceResolver = typeSourceResolver;
+            this.digestResolver = digestResolver;
+            this.dependenciesClassLoader = dependenciesClassLoader;
+            this.previousFragments = previousFragments;
         }
 
         public ProjectDataModelOracle build() {
@@ -87,7 +137,16 @@ public class ProjectDataModelOracleBuilderProvider {
 
             addExternalImports();
 
-            return pdBuilder.build();
+            makeFragments();
+
+            return merge();
+        }
+
+        /**
+         * @return The fragments, by class name, from which the last call to {@link #build()} assembled the DataModelOracle
+         */
+        Map<String, FactTypeFragment> getFragments() {
+            return Collections.unmodifiableMap(fragments);
         }
 
         /**
@@ -103,7 +162,7 @@ public class ProjectDataModelOracleBuilderProvider {
 
         private void addFromKieModuleMetadata() {
             for (final String packageName : getFilteredPackageNames()) {
-                pdBuilder.addPackage(packageName);
+                packageNames.add(packageName);
                 addClasses(packageName,
                            kieModuleMetaData.getClasses(packageName));
             }
@@ -128,14 +187,12 @@ public class ProjectDataModelOracleBuilderProvider {
         private void addClass(final Import item) {
             try {
                 Class clazz = this.getClass().getClassLoader().loadClass(item.getType());
-                pdBuilder.addClass(clazz,
-                                   false,
-                                   TypeSource.JAVA_DEPENDENCY);
+                addClass(clazz,
+                         false,
+                         TypeSource.JAVA_DEPENDENCY);
             } catch (ClassNotFoundException cnfe) {
                 //Class resolution would have happened in Builder and reported as warnings so log error here at debug level to avoid flooding logs
                 log.debug(cnfe.getMessage());
-            } catch (IOException ioe) {
-                log.debug(ioe.getMessage());
             }
         }
 
@@ -144,17 +201,201 @@ public class ProjectDataModelOracleBuilderProvider {
             try {
                 final Class clazz = kieModuleMetaData.getClass(packageName,
                                                                className);
-                pdBuilder.addClass(clazz,
-                                   kieModuleMetaData.getTypeMetaInfo(clazz).isEvent(),
-                                   typeSourceResolver.getTypeSource(clazz));
+                addClass(clazz,
+                         kieModuleMetaData.getTypeMetaInfo(clazz).isEvent(),
+                         typeSourceResolver.getTypeSource(clazz));
             } catch (Throwable e) {
                 //Class resolution would have happened in Builder and reported as warnings so log error here at debug level to avoid flooding logs
                 log.debug(e.getMessage());
             }
         }
 
+        private void addClass(final Class<?> clazz,
+                              final boolean isEvent,
+                              final TypeSource typeSource) {
+            //Classes are loaded serially, as the ClassLoaders are not necessarily parallel capable; reflection is deferred
+            classes.put(clazz.getName(),
+                        new ClassEntry(clazz,
+                                       isEvent,
+                                       typeSource));
+        }
+
+        private void makeFragments() {
+            final List<Callable<FactTypeFragment>> tasks = new ArrayList<Callable<FactTypeFragment>>();
+            for (final ClassEntry entry : classes.values()) {
+                final FactTypeFragment previous = previousFragments.get(entry.clazz.getName());
+                if (previous != null && previous.isReusableFor(entry.clazz,
+                                                               entry.isEvent,
+                                                               entry.typeSource,
+                                                               digestResolver,
+                                                               dependenciesClassLoader)) {
+                    fragments.put(previous.getClassName(),
+                                  previous);
+                } else {
+                    tasks.add(() -> makeFragment(entry));
+                }
+            }
+            log.debug("Project '{}': reflecting upon {} class(es), re-using {} unchanged.",
+                      project.getProjectName(),
+                      tasks.size(),
+                      fragments.size());
+
+            //Classes are reflected upon in parallel
+            for (final Future<FactTypeFragment> future : ParallelTasks.invokeAll(tasks)) {
+                try {
+                    final FactTypeFragment fragment = future.get();
+                    if (fragment != null) {
+                        fragments.put(fragment.getClassName(),
+                                      fragment);
+                    }
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(ie);
+                } catch (ExecutionException ee) {
+                    log.debug(ee.getMessage());
+                }
+            }
+        }
+
+        private FactTypeFragment makeFragment(final ClassEntry entry) {
+            try {
+                final ProjectDataModelOracle oracle = ProjectDataModelOracleBuilder.newProjectOracleBuilder()
+                        .addClass(entry.clazz,
+                                  entry.isEvent,
+                                  entry.typeSource)
+                        .build();
+                return new FactTypeFragment(entry.clazz,
+                                            entry.isEvent,
+                                            entry.typeSource,
+                                            oracle,
+                                            digestResolver,
+                                            dependenciesClassLoader);
+            } catch (Throwable e) {
+                //Class resolution would have happened in Builder and reported as warnings so log error here at debug level to avoid flooding logs
+                log.debug(e.getMessage());
+                return null;
+            }
+        }
+
+        /**
+         * Assemble the DataModelOracle from the fragments. Entries for the classes themselves are added first and then
+         * entries for field types discovered whilst reflecting. Discovered field types that are also classes of the
+         * Project are skipped, so the entries built for the class itself are always the ones used.
+         */
+        private ProjectDataModelOracle merge() {
+            final ProjectDataModelOracleImpl oracle = new ProjectDataModelOracleImpl();
+            final Set<String> classNames = new HashSet<String>(fragments.keySet());
+            for (final FactTypeFragment fragment : fragments.values()) {
+                merge(oracle,
+                      fragment.getOracle(),
+                      (type) -> type.equals(fragment.getClassName()));
+            }
+            for (final FactTypeFragment fragment : fragments.values()) {
+                merge(oracle,
+                      fragment.getOracle(),
+                      (type) -> !classNames.contains(type));
+            }
+            oracle.addProjectPackageNames(packageNames);
+            return oracle;
+        }
+
+        private void merge(final ProjectDataModelOracleImpl target,
+                           final ProjectDataModelOracle source,
+                           final Function<String, Boolean> typeFilter) {
+            target.addProjectModelFields(filter(source.getProjectModelFields(),
+                                                typeFilter));
+            target.addProjectFieldParametersType(filter(source.getProjectFieldParametersType(),
+                                                        typeFilter));
+            target.addProjectEventTypes(filter(source.getProjectEventTypes(),
+                                               typeFilter));
+            target.addProjectTypeSources(filter(source.getProjectTypeSources(),
+                                                typeFilter));
+            target.addProjectSuperTypes(filter(source.getProjectSuperTypes(),
+                                               typeFilter));
+            target.addProjectTypeAnnotations(filter(source.getProjectTypeAnnotations(),
+                                                    typeFilter));
+            target.addProjectTypeFieldsAnnotations(filter(source.getProjectTypeFieldsAnnotations(),
+                                                          typeFilter));
+            target.addProjectJavaEnumDefinitions(filter(source.getProjectJavaEnumDefinitions(),
+                                                        typeFilter));
+            target.addProjectMethodInformation(filter(source.getProjectMethodInformation(),
+                                                      typeFilter));
+            target.addProjectCollectionTypes(filter(source.getProjectCollectionTypes(),
+                                                    typeFilter));
+        }
+
+        //Keys are either a fully qualified type name or "type#field"
+        private <T> Map<String, T> filter(final Map<String, T> source,
+                                          final Function<String, Boolean> typeFilter) {
+            final Map<String, T> filtered = new HashMap<String, T>();
+            for (Map.Entry<String, T> e : source.entrySet()) {
+                final String key = e.getKey();
+                final int hash = key.indexOf('#');
+                final String type = (hash < 0 ? key : key.substring(0,
+                                                                    hash));
+                if (typeFilter.apply(type)) {
+                    filtered.put(key,
+                                 e.getValue());
+                }
+            }
+            return filtered;
+        }
+
         private List<Import> getImports() {
             return importsService.load(project.getImportsPath()).getImports().getImports();
         }
     }
+
+    private static class ClassEntry {
+
+        private final Class<?> clazz;
+        private final boolean isEvent;
+        private final TypeSource typeSource;
+
+        private ClassEntry(final Class<?> clazz,
+                           final boolean isEvent,
+                           final TypeSource typeSource) {
+            this.clazz = clazz;
+            this.isEvent = isEvent;
+            this.typeSource = typeSource;
+        }
+    }
+
+    /**
+     * Resolves a digest of the bytecode of classes compiled from the Project; i.e. as updated by incremental builds.
+     * Returns null for classes not compiled from the Project.
+     */
+    static class BytecodeDigestResolver implements Function<String, String> {
+
+        private static final String NO_DIGEST = "";
+
+        private final InternalKieModule kieModule;
+        private final Map<String, String> digests = new ConcurrentHashMap<String, String>();
+
+        BytecodeDigestResolver(final KieModule kieModule) {
+            this.kieModule = (kieModule instanceof InternalKieModule ? (InternalKieModule) kieModule : null);
+        }
+
+        @Override
+        public String apply(final String className) {
+            if (kieModule == null) {
+                return null;
+            }
+            final String digest = digests.computeIfAbsent(className,
+                                                          (name) -> {
+                                                              final byte[] bytes = kieModule.getBytes(name.replace('.',
+                                                                                                                   '/') + ".class");
+                                                              return (bytes == null ? NO_DIGEST : digest(bytes));
+                                                          });
+            return (NO_DIGEST.equals(digest) ? null : digest);
+        }
+
+        private static String digest(final byte[] bytes) {
+            try {
+                return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-1").digest(bytes));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
 }
@@ -87,6 +87,7 @@ import org.kie.workbench.common.services.backend.dependencies.DependencyServiceI
 import org.kie.workbench.common.services.backend.kmodule.KModuleContentHandler;
 import org.kie.workbench.common.services.backend.kmodule.KModuleServiceImpl;
 import org.kie.workbench.common.services.backend.project.KieProjectRepositoriesServiceImpl;
+import org.kie.workbench.common.services.backend.project.KieProjectResolutionCache;
 import org.kie.workbench.common.services.backend.project.KieProjectServiceImpl;
 import org.kie.workbench.common.services.backend.project.KieResourceResolver;
 import org.kie.workbench.common.services.backend.project.ProjectImportsServiceImpl;
@@ -298,7 +299,8 @@ public class DataModelServiceConstructorTest {
                                                                        commentedOptionFactory,
                                                                        backward,
                                                                        kModuleService,
-                                                                       resourcePathResolversInstance ) {
+                                                                       resourcePathResolversInstance,
+                                                                       new KieProjectResolutionCache()) {
             @Override
             protected void addSecurityGroups(final KieProject project) {
                 //Do nothing. This test demonstrating DMO usage without WELD does not use permissions.
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ClassInspectorCacheTest {
+
+    @Test
+    public void testApplicationClassesAreCached() throws Exception {
+        assertTrue( ClassInspectorCache.isShared( String.class ) );
+        assertTrue( ClassInspectorCache.isShared( Person.class ) );
+
+        final long inspections = ClassInspectorCache.getInspectionCount();
+        final ClassFieldInspector fieldInspector = ClassInspectorCache.getFieldInspector( Person.class );
+        final ClassMethodInspector methodInspector = ClassInspectorCache.getMethodInspector( Person.class );
+
+        assertSame( fieldInspector,
+                    ClassInspectorCache.getFieldInspector( Person.class ) );
+        assertSame( methodInspector,
+                    ClassInspectorCache.getMethodInspector( Person.class ) );
+        assertTrue( ClassInspectorCache.getInspectionCount() - inspections <= 2 );
+
+        assertTrue( fieldInspector.getFieldNames().contains( "name" ) );
+        assertTrue( methodInspector.getMethodNames().contains( "greet" ) );
+    }
+
+    @Test
+    public void testProjectClassesAreNotCached() throws Exception {
+        try ( final URLClassLoader projectClassLoader = newIsolatedClassLoader() ) {
+            final Class<?> clazz = projectClassLoader.loadClass( Person.class.getName() );
+            assertNotSame( Person.class,
+                           clazz );
+            assertFalse( ClassInspectorCache.isShared( clazz ) );
+
+            final ClassFieldInspector inspector1 = ClassInspectorCache.getFieldInspector( clazz );
+            final ClassFieldInspector inspector2 = ClassInspectorCache.getFieldInspector( clazz );
+            assertNotSame( inspector1,
+                           inspector2 );
+            assertEquals( inspector1.getFieldNames(),
+                          inspector2.getFieldNames() );
+        }
+    }
+
+    @Test
+    public void testDependencyClassesAreCached() throws Exception {
+        try ( final URLClassLoader dependenciesClassLoader = newIsolatedClassLoader() ) {
+            final Class<?> clazz = dependenciesClassLoader.loadClass( Person.class.getName() );
+            ClassInspectorCache.registerSharedClassLoader( dependenciesClassLoader );
+            assertTrue( ClassInspectorCache.isShared( clazz ) );
+
+            assertSame( ClassInspectorCache.getFieldInspector( clazz ),
+                        ClassInspectorCache.getFieldInspector( clazz ) );
+            assertSame( ClassInspectorCache.getMethodInspector( clazz ),
+                        ClassInspectorCache.getMethodInspector( clazz ) );
+        }
+    }
+
+    private URLClassLoader newIsolatedClassLoader() {
+        final URL classes = Person.class.getProtectionDomain().getCodeSource().getLocation();
+        return new URLClassLoader( new URL[]{classes},
+                                   null );
+    }
+
+    public static class Person {
+
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName( final String name ) {
+            this.name = name;
+        }
+
+        public String greet( final String greeting ) {
+            return greeting + " " + name;
+        }
+    }
+
+}
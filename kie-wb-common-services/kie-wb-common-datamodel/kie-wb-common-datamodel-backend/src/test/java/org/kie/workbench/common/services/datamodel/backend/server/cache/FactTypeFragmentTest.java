@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.datamodel.backend.server.cache;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.function.Function;
+
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracleImpl;
+import org.drools.workbench.models.datamodel.oracle.TypeSource;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FactTypeFragmentTest {
+
+    private final Function<String, String> projectDigests = ( className ) -> "digest";
+
+    @Test
+    public void testFragmentIsReusedWithSameDependencies() {
+        final ClassLoader dependencies = new URLClassLoader( new URL[ 0 ] );
+        final FactTypeFragment fragment = new FactTypeFragment( Person.class,
+                                                                false,
+                                                                TypeSource.JAVA_PROJECT,
+                                                                new ProjectDataModelOracleImpl(),
+                                                                projectDigests,
+                                                                dependencies );
+
+        assertTrue( fragment.isReusableFor( Person.class,
+                                            false,
+                                            TypeSource.JAVA_PROJECT,
+                                            projectDigests,
+                                            dependencies ) );
+    }
+
+    @Test
+    public void testFragmentIsNotReusedWhenDependenciesChange() {
+        final FactTypeFragment fragment = new FactTypeFragment( Person.class,
+                                                                false,
+                                                                TypeSource.JAVA_PROJECT,
+                                                                new ProjectDataModelOracleImpl(),
+                                                                projectDigests,
+                                                                new URLClassLoader( new URL[ 0 ] ) );
+
+        //Inherited fields and super types from the previous dependencies may be stale, even though the bytecode is unchanged
+        assertFalse( fragment.isReusableFor( Person.class,
+                                             false,
+                                             TypeSource.JAVA_PROJECT,
+                                             projectDigests,
+                                             new URLClassLoader( new URL[ 0 ] ) ) );
+    }
+
+    @Test
+    public void testFragmentIsNotReusedWhenBytecodeChanges() {
+        final ClassLoader dependencies = new URLClassLoader( new URL[ 0 ] );
+        final FactTypeFragment fragment = new FactTypeFragment( Person.class,
+                                                                false,
+                                                                TypeSource.JAVA_PROJECT,
+                                                                new ProjectDataModelOracleImpl(),
+                                                                projectDigests,
+                                                                dependencies );
+
+        assertFalse( fragment.isReusableFor( Person.class,
+                                             false,
+                                             TypeSource.JAVA_PROJECT,
+                                             ( className ) -> "changed",
+                                             dependencies ) );
+    }
+
+    public static class Person {
+
+    }
+
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.datamodel.backend.server.cache;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracleImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.backend.builder.service.BuildInfo;
+import org.kie.workbench.common.services.backend.builder.service.BuildInfoService;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LRUProjectDataModelOracleCacheTest {
+
+    @Mock
+    private ProjectDataModelOracleBuilderProvider builderProvider;
+
+    @Mock
+    private KieProjectService projectService;
+
+    @Mock
+    private BuildInfoService buildInfoService;
+
+    @Mock
+    private BuildInfo buildInfo;
+
+    @Mock
+    private KieProject project;
+
+    private LRUProjectDataModelOracleCache cache;
+
+    private ExecutorService executor;
+
+    @Before
+    public void setup() {
+        cache = new LRUProjectDataModelOracleCache( builderProvider,
+                                                    projectService,
+                                                    buildInfoService );
+        executor = Executors.newSingleThreadExecutor();
+        when( buildInfoService.getBuildInfo( project ) ).thenReturn( buildInfo );
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testOracleIsCached() {
+        final ProjectDataModelOracle oracle = new ProjectDataModelOracleImpl();
+        mockBuilder( oracle,
+                     Collections.<String, FactTypeFragment>emptyMap() );
+
+        assertSame( oracle,
+                    cache.assertProjectDataModelOracle( project ) );
+        assertSame( oracle,
+                    cache.assertProjectDataModelOracle( project ) );
+
+        verify( builderProvider,
+                times( 1 ) ).newBuilder( eq( project ),
+                                         eq( buildInfo ),
+                                         anyMapOf( String.class,
+                                                   FactTypeFragment.class ) );
+    }
+
+    @Test
+    public void testInvalidationRebuildsFromPreviousFragments() {
+        final Map<String, FactTypeFragment> fragments = Collections.singletonMap( "org.test.Person",
+                                                                                  mock( FactTypeFragment.class ) );
+        final ProjectDataModelOracle oracle1 = new ProjectDataModelOracleImpl();
+        mockBuilder( oracle1,
+                     fragments );
+        assertSame( oracle1,
+                    cache.assertProjectDataModelOracle( project ) );
+
+        cache.invalidateCache( project );
+        assertFalse( cache.isCurrent( project,
+                                      oracle1 ) );
+
+        final ProjectDataModelOracle oracle2 = new ProjectDataModelOracleImpl();
+        final ProjectDataModelOracleBuilderProvider.InnerBuilder builder = mock( ProjectDataModelOracleBuilderProvider.InnerBuilder.class );
+        when( builder.build() ).thenReturn( oracle2 );
+        when( builder.getFragments() ).thenReturn( Collections.<String, FactTypeFragment>emptyMap() );
+        when( builderProvider.newBuilder( project,
+                                          buildInfo,
+                                          fragments ) ).thenReturn( builder );
+
+        assertSame( oracle2,
+                    cache.assertProjectDataModelOracle( project ) );
+    }
+
+    @Test
+    public void testPreviousOracleIsUsedWhilstRebuilding() throws Exception {
+        final ProjectDataModelOracle oracle1 = new ProjectDataModelOracleImpl();
+        mockBuilder( oracle1,
+                     Collections.<String, FactTypeFragment>emptyMap() );
+        assertSame( oracle1,
+                    cache.assertProjectDataModelOracle( project ) );
+
+        cache.invalidateCache( project );
+
+        final CountDownLatch building = new CountDownLatch( 1 );
+        final CountDownLatch release = new CountDownLatch( 1 );
+        final ProjectDataModelOracle oracle2 = new ProjectDataModelOracleImpl();
+        final ProjectDataModelOracleBuilderProvider.InnerBuilder builder = mock( ProjectDataModelOracleBuilderProvider.InnerBuilder.class );
+        when( builder.build() ).thenAnswer( ( invocation ) -> {
+            building.countDown();
+            release.await( 10,
+                           TimeUnit.SECONDS );
+            return oracle2;
+        } );
+        when( builder.getFragments() ).thenReturn( Collections.<String, FactTypeFragment>emptyMap() );
+        when( builderProvider.newBuilder( eq( project ),
+                                          eq( buildInfo ),
+                                          anyMapOf( String.class,
+                                                    FactTypeFragment.class ) ) ).thenReturn( builder );
+
+        final Future<ProjectDataModelOracle> rebuild = executor.submit( () -> cache.assertProjectDataModelOracle( project ) );
+        assertTrue( building.await( 10,
+                                    TimeUnit.SECONDS ) );
+
+        //The rebuild is in progress so the previous ProjectOracle is returned without blocking
+        assertSame( oracle1,
+                    cache.assertProjectDataModelOracle( project ) );
+        assertFalse( cache.isCurrent( project,
+                                      oracle1 ) );
+
+        release.countDown();
+        assertSame( oracle2,
+                    rebuild.get( 10,
+                                 TimeUnit.SECONDS ) );
+        assertSame( oracle2,
+                    cache.assertProjectDataModelOracle( project ) );
+        assertTrue( cache.isCurrent( project,
+                                     oracle2 ) );
+        assertFalse( cache.isCurrent( project,
+                                      oracle1 ) );
+    }
+
+    @Test
+    public void testFailedRebuildIsRetried() {
+        final ProjectDataModelOracle oracle1 = new ProjectDataModelOracleImpl();
+        mockBuilder( oracle1,
+                     Collections.<String, FactTypeFragment>emptyMap() );
+        assertSame( oracle1,
+                    cache.assertProjectDataModelOracle( project ) );
+
+        cache.invalidateCache( project );
+
+        final ProjectDataModelOracleBuilderProvider.InnerBuilder failing = mock( ProjectDataModelOracleBuilderProvider.InnerBuilder.class );
+        when( failing.build() ).thenThrow( new IllegalStateException( "failed" ) );
+        when( builderProvider.newBuilder( eq( project ),
+                                          eq( buildInfo ),
+                                          anyMapOf( String.class,
+                                                    FactTypeFragment.class ) ) ).thenReturn( failing );
+        try {
+            cache.assertProjectDataModelOracle( project );
+            fail( "Expected IllegalStateException" );
+        } catch ( IllegalStateException expected ) {
+            //Expected
+        }
+
+        final ProjectDataModelOracle oracle2 = new ProjectDataModelOracleImpl();
+        mockBuilder( oracle2,
+                     Collections.<String, FactTypeFragment>emptyMap() );
+        assertSame( oracle2,
+                    cache.assertProjectDataModelOracle( project ) );
+    }
+
+    private void mockBuilder( final ProjectDataModelOracle oracle,
+                              final Map<String, FactTypeFragment> fragments ) {
+        final ProjectDataModelOracleBuilderProvider.InnerBuilder builder = mock( ProjectDataModelOracleBuilderProvider.InnerBuilder.class );
+        when( builder.build() ).thenReturn( oracle );
+        when( builder.getFragments() ).thenReturn( fragments );
+        when( builderProvider.newBuilder( eq( project ),
+                                          eq( buildInfo ),
+                                          anyMapOf( String.class,
+                                                    FactTypeFragment.class ) ) ).thenReturn( builder );
+    }
+}
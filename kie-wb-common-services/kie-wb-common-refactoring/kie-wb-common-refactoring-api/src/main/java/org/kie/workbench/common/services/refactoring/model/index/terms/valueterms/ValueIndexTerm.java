@@ -28,7 +28,8 @@ public interface ValueIndexTerm extends IndexTerm {
         NORMAL,
         PREFIX,  // lucene's PrefixQuery
         WILDCARD, // lucene's PrefixQuery
-        REGEXP; // lucene's RegExpQuery
+        REGEXP, // lucene's RegExpQuery
+        SUBSTRING; // lucene's PrefixQuery, over the suffixes of the term's values
     }
 
     default TermSearchType getSearchType() {
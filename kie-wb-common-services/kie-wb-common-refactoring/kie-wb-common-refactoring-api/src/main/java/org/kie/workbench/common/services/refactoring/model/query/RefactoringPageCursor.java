@@ -0,0 +1,49 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.model.query;
+
+import java.util.List;
+
+import org.jboss.errai.common.client.api.annotations.MapsTo;
+import org.jboss.errai.common.client.api.annotations.Portable;
+import org.uberfire.commons.validation.PortablePreconditions;
+
+/**
+ * The position of the last hit of a page: its document and the values it was sorted by, in the order of the query's
+ * sort fields. Clients should treat it as opaque and only pass it back to request the following page.
+ */
+@Portable
+public class RefactoringPageCursor {
+
+    private final int doc;
+    private final List<String> sortValues;
+
+    public RefactoringPageCursor( @MapsTo("doc") final int doc,
+                                  @MapsTo("sortValues") final List<String> sortValues ) {
+        this.doc = doc;
+        this.sortValues = PortablePreconditions.checkNotNull( "sortValues",
+                                                              sortValues );
+    }
+
+    public int getDoc() {
+        return doc;
+    }
+
+    public List<String> getSortValues() {
+        return sortValues;
+    }
+
+}
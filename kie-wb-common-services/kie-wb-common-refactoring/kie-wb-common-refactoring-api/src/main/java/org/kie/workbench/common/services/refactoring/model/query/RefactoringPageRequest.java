@@ -25,6 +25,11 @@ import org.uberfire.paging.PageRequest;
 
 /**
  * A Query request.
+ * <p>
+ * Requests are paged by start row index by default. Clients iterating over successive pages can instead pass
+ * the cursor returned in the previous {@link RefactoringPageResponse} with
+ * {@link #setSearchAfter(RefactoringPageCursor)}, in which case only the next page of hits after the cursor is
+ * collected.
  */
 @Portable
 public class RefactoringPageRequest extends PageRequest {
@@ -32,6 +37,7 @@ public class RefactoringPageRequest extends PageRequest {
 
     private String queryName;
     private Set<ValueIndexTerm> queryTerms;
+    private RefactoringPageCursor searchAfter;
 
     public RefactoringPageRequest( @MapsTo("queryName") final String queryName,
                                    @MapsTo("queryTerms") final Set<ValueIndexTerm> queryTerms,
@@ -61,4 +67,12 @@ public class RefactoringPageRequest extends PageRequest {
         this.queryTerms = queryTerms;
     }
 
+    public RefactoringPageCursor getSearchAfter() {
+        return searchAfter;
+    }
+
+    public void setSearchAfter( RefactoringPageCursor searchAfter ) {
+        this.searchAfter = searchAfter;
+    }
+
 }
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.model.query;
+
+import org.jboss.errai.common.client.api.annotations.Portable;
+import org.uberfire.paging.PageResponse;
+
+/**
+ * A Query response carrying the cursor to request the following page with
+ * {@link RefactoringPageRequest#setSearchAfter(RefactoringPageCursor)}.
+ */
+@Portable
+public class RefactoringPageResponse extends PageResponse<RefactoringPageRow> {
+
+    private RefactoringPageCursor searchAfter;
+
+    public RefactoringPageCursor getSearchAfter() {
+        return searchAfter;
+    }
+
+    public void setSearchAfter( RefactoringPageCursor searchAfter ) {
+        this.searchAfter = searchAfter;
+    }
+
+}
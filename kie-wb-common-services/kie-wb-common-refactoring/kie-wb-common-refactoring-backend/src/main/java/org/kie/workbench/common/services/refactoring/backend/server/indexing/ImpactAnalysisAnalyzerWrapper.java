@@ -41,6 +41,7 @@ import org.kie.workbench.common.services.refactoring.service.ResourceType;
 public final class ImpactAnalysisAnalyzerWrapper extends DelegatingAnalyzerWrapper {
 
     private final LowerCaseOnlyAnalyzer lowerCaseOnlyAnalyzer = new LowerCaseOnlyAnalyzer();
+    private final SuffixAnalyzer suffixAnalyzer = new SuffixAnalyzer();
 
     private final Analyzer defaultAnalyzer;
     private final Map<String, Analyzer> fieldAnalyzers;
@@ -97,8 +98,11 @@ public final class ImpactAnalysisAnalyzerWrapper extends DelegatingAnalyzerWrapp
         Analyzer analyzer = fieldAnalyzers.get(fieldName);
 
         if( analyzer == null ) {
+            // suffixes, for substring searches
+            if (fieldName.endsWith(SuffixAnalyzer.SUFFIXES_FIELD_NAME_END)) {
+                analyzer = suffixAnalyzer;
             // referenced resources and referenced parts
-            if (fieldName.startsWith(RESOURCE_REF_FIELD_NAME_BEGIN)) {
+            } else if (fieldName.startsWith(RESOURCE_REF_FIELD_NAME_BEGIN)) {
                 analyzer = lowerCaseOnlyAnalyzer;
             // shared parts
             } else if (fieldName.startsWith(SHARED_PART_REF_FIELD_NAME_BEGIN)) {
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.indexing;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.core.KeywordTokenizer;
+import org.apache.lucene.analysis.core.LowerCaseFilter;
+import org.apache.lucene.analysis.ngram.EdgeNGramTokenFilter;
+import org.apache.lucene.analysis.reverse.ReverseStringFilter;
+
+/**
+ * Analyzes a value into all of its (lower case) suffixes; e.g. "MyRule.drl" is indexed as "myrule.drl",
+ * "yrule.drl", ... , "rl", "l". A value contains a substring if one of its suffixes starts with the substring, so
+ * substrings can be found with a {@link org.apache.lucene.search.PrefixQuery} rather than a leading wildcard query
+ * that has to visit every term in the index.
+ * <p>
+ * Fields ending with {@link #SUFFIXES_FIELD_NAME_END} are analyzed by {@link ImpactAnalysisAnalyzerWrapper} with this
+ * Analyzer.
+ */
+public class SuffixAnalyzer extends Analyzer {
+
+    public static final String SUFFIXES_FIELD_NAME_END = ":suffixes";
+
+    /**
+     * Suffixes are indexed for the last MAX_SUFFIX_LENGTH characters of a value, enough for any file name
+     */
+    static final int MAX_SUFFIX_LENGTH = 255;
+
+    public SuffixAnalyzer() {
+        super();
+    }
+
+    /**
+     * @param fieldName The name of the field holding the value
+     * @return The name of the field holding the suffixes of the value
+     */
+    public static String getSuffixesFieldName( final String fieldName ) {
+        return fieldName + SUFFIXES_FIELD_NAME_END;
+    }
+
+    @Override
+    protected TokenStreamComponents createComponents( final String fieldName ) {
+        final Tokenizer src = new KeywordTokenizer();
+        TokenStream tok = new LowerCaseFilter( src );
+        //The prefixes of the reversed value are the suffixes of the value
+        tok = new ReverseStringFilter( tok );
+        tok = new EdgeNGramTokenFilter( tok,
+                                        1,
+                                        MAX_SUFFIX_LENGTH );
+        tok = new ReverseStringFilter( tok );
+
+        return new TokenStreamComponents( src, tok );
+    }
+}
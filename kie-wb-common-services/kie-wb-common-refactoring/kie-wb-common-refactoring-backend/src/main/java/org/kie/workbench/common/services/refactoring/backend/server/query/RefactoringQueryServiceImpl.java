@@ -20,21 +20,21 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.function.Function;
-import java.util.function.IntFunction;
-import java.util.function.Supplier;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import org.apache.lucene.search.FieldDoc;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.TopFieldDocs;
-import org.apache.lucene.search.TopScoreDocCollector;
 import org.apache.lucene.search.TotalHitCountCollector;
+import org.apache.lucene.util.BytesRef;
 import org.drools.workbench.models.datamodel.util.PortablePreconditions;
 import org.jboss.errai.bus.server.annotations.Service;
 import org.kie.workbench.common.services.refactoring.backend.server.query.response.ResponseBuilder;
@@ -43,7 +43,9 @@ import org.kie.workbench.common.services.refactoring.model.index.terms.valueterm
 import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
 import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueProjectNameIndexTerm;
 import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueProjectRootPathIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageCursor;
 import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRequest;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageResponse;
 import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
 import org.kie.workbench.common.services.refactoring.service.RefactoringQueryService;
 import org.kie.workbench.common.services.refactoring.service.impact.QueryOperationRequest;
@@ -61,7 +63,7 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
 
     private LuceneConfig config;
     private NamedQueries namedQueries;
-    private PageResponse<RefactoringPageRow> emptyResponse;
+    private RefactoringPageResponse emptyResponse;
 
     public RefactoringQueryServiceImpl() {
         //Make proxyable
@@ -76,7 +78,7 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
 
     @PostConstruct
     public void init() {
-        emptyResponse = new PageResponse<RefactoringPageRow>();
+        emptyResponse = new RefactoringPageResponse();
         emptyResponse.setPageRowList( Collections.<RefactoringPageRow>emptyList() );
         emptyResponse.setStartRowIndex( 0 );
         emptyResponse.setTotalRowSize( 0 );
@@ -105,18 +107,18 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         final int pageSize = request.getPageSize();
         final int startIndex = request.getStartRowIndex();
 
-        final List<KObject> kObjects
-            = search(query,
-                     sort,
-                     () -> ( startIndex ), // start index of docs to get
-                     (numHits) -> ( numHits - startIndex > pageSize ? pageSize : numHits - startIndex ) // num docs to add to response
-                    );
+        final SearchPage page = searchPage( query,
+                                            sort,
+                                            startIndex,
+                                            pageSize,
+                                            request.getSearchAfter() );
 
-        if( ! kObjects.isEmpty() ) {
+        if( ! page.kObjects.isEmpty() ) {
             final ResponseBuilder responseBuilder = namedQuery.getResponseBuilder();
-            return responseBuilder.buildResponse( pageSize,
-                                                  startIndex,
-                                                  kObjects );
+            return toRefactoringPageResponse( responseBuilder.buildResponse( pageSize,
+                                                                             startIndex,
+                                                                             page.kObjects ),
+                                              page );
         } else {
             return emptyResponse;
         }
@@ -137,12 +139,8 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         final Query query = namedQuery.toQuery( queryTerms );
         final Sort sort = namedQuery.getSortOrder();
 
-        final List<KObject> kObjects
-            = search(query,
-                     sort,
-                     () -> (0), // start index of docs to get
-                     (numHits) -> (numHits) // num docs to add to response
-                    );
+        final List<KObject> kObjects = search( query,
+                                               sort );
 
         if( ! kObjects.isEmpty() ) {
             final ResponseBuilder responseBuilder = namedQuery.getResponseBuilder();
@@ -154,30 +152,24 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
 
     private List<KObject> search(final Query query,
                                  final Sort sort,
-                                 final Supplier<Integer> startIndexSupplier,
-                                 final IntFunction<Integer> numOfHitsToReturnSupplier,
                                  final ClusterSegment... clusterSegments) {
 
         final LuceneIndexManager indexManager = ( (LuceneIndexManager) config.getIndexManager() );
         final IndexSearcher index = indexManager.getIndexSearcher( clusterSegments );
 
-
         final List<KObject> result = new ArrayList<KObject>();
         try {
             final TotalHitCountCollector totalHitCountCollector = new TotalHitCountCollector();
             index.search( query,
                           totalHitCountCollector );
 
-            int numHits = totalHitCountCollector.getTotalHits();
+            final int numHits = totalHitCountCollector.getTotalHits();
             if( numHits > 0 ) {
-                final TopFieldDocs docsHit = index.search(query,
-                                                          Integer.MAX_VALUE,
-                                                          sort );
-                final int startIndex = startIndexSupplier.get();
-                final int numOfHitsToReturn = numOfHitsToReturnSupplier.apply(docsHit.totalHits);
-
-                for ( int i = startIndex; i < startIndex+numOfHitsToReturn; i++ ) {
-                    result.add( toKObject( index.doc(docsHit.scoreDocs[ i ].doc) ) );
+                final TopFieldDocs docsHit = index.search( query,
+                                                           numHits,
+                                                           sort );
+                for ( ScoreDoc scoreDoc : docsHit.scoreDocs ) {
+                    result.add( toKObject( index.doc( scoreDoc.doc ) ) );
                 }
             }
         } catch ( final Exception ex ) {
@@ -190,6 +182,187 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         return result;
     }
 
+    /**
+     * Collects a single page of hits. Only the top {@code startIndex + pageSize} hits are collected (rather than
+     * every hit) or, when a cursor from a previous page is provided, only the {@code pageSize} hits following the
+     * cursor. The cursor holds the sort values of the last hit, so it applies to sorted queries as well as those in
+     * index order. The total hit count used to detect the last page is gathered by the same collector, so the query
+     * is executed once.
+     */
+    private SearchPage searchPage(final Query query,
+                                  final Sort sort,
+                                  final int startIndex,
+                                  final int pageSize,
+                                  final RefactoringPageCursor searchAfter,
+                                  final ClusterSegment... clusterSegments) {
+        if ( pageSize <= 0 ) {
+            return new SearchPage( Collections.emptyList(),
+                                   true,
+                                   null );
+        }
+
+        final LuceneIndexManager indexManager = ( (LuceneIndexManager) config.getIndexManager() );
+        final IndexSearcher index = indexManager.getIndexSearcher( clusterSegments );
+
+        try {
+            final TopDocs docsHit;
+            final int firstHit;
+            final boolean lastPage;
+            final FieldDoc after = searchAfter == null ? null : toFieldDoc( searchAfter,
+                                                                             sort );
+            if ( after != null ) {
+                docsHit = index.searchAfter( after,
+                                             query,
+                                             pageSize,
+                                             sort );
+                firstHit = 0;
+                //The total hit count includes hits before the cursor, so it can't tell how many remain
+                lastPage = docsHit.scoreDocs.length < pageSize;
+            } else {
+                //Guard against overflow for very deep pages
+                final int numHitsToCollect = (int) Math.min( (long) startIndex + pageSize,
+                                                             Integer.MAX_VALUE );
+                docsHit = index.search( query,
+                                        numHitsToCollect,
+                                        sort );
+                firstHit = startIndex;
+                lastPage = numHitsToCollect >= docsHit.totalHits;
+            }
+
+            final List<KObject> result = new ArrayList<KObject>();
+            ScoreDoc lastDoc = null;
+            for ( int i = firstHit; i < docsHit.scoreDocs.length; i++ ) {
+                result.add( toKObject( index.doc( docsHit.scoreDocs[ i ].doc ) ) );
+                lastDoc = docsHit.scoreDocs[ i ];
+            }
+
+            return new SearchPage( result,
+                                   lastPage,
+                                   lastDoc instanceof FieldDoc ? toCursor( (FieldDoc) lastDoc,
+                                                                           sort ) : null );
+        } catch ( final Exception ex ) {
+            throw new RuntimeException( "Error during Query!",
+                                        ex );
+        } finally {
+            indexManager.release( index );
+        }
+    }
+
+    /**
+     * The cursor of a hit, or null if the sort order has fields whose values can't be passed to the client.
+     */
+    private static RefactoringPageCursor toCursor( final FieldDoc fieldDoc,
+                                                   final Sort sort ) {
+        final SortField[] sortFields = sort.getSort();
+        if ( fieldDoc.fields == null || fieldDoc.fields.length != sortFields.length ) {
+            return null;
+        }
+        final List<String> sortValues = new ArrayList<String>( sortFields.length );
+        for ( int i = 0; i < sortFields.length; i++ ) {
+            if ( !isCursorSupported( sortFields[ i ].getType() ) ) {
+                return null;
+            }
+            final Object value = fieldDoc.fields[ i ];
+            if ( value == null ) {
+                sortValues.add( null );
+            } else if ( value instanceof BytesRef ) {
+                sortValues.add( ( (BytesRef) value ).utf8ToString() );
+            } else {
+                sortValues.add( value.toString() );
+            }
+        }
+        return new RefactoringPageCursor( fieldDoc.doc,
+                                          sortValues );
+    }
+
+    /**
+     * The hit to search after for a cursor, or null if the cursor doesn't match the sort order; the page is then
+     * collected by start row index.
+     */
+    private static FieldDoc toFieldDoc( final RefactoringPageCursor cursor,
+                                        final Sort sort ) {
+        final SortField[] sortFields = sort.getSort();
+        final List<String> sortValues = cursor.getSortValues();
+        if ( sortValues.size() != sortFields.length ) {
+            return null;
+        }
+        final Object[] fields = new Object[ sortFields.length ];
+        try {
+            for ( int i = 0; i < sortFields.length; i++ ) {
+                final String value = sortValues.get( i );
+                switch ( sortFields[ i ].getType() ) {
+                    case STRING:
+                    case STRING_VAL:
+                        fields[ i ] = value == null ? null : new BytesRef( value );
+                        break;
+                    case DOC:
+                    case INT:
+                        fields[ i ] = value == null ? null : Integer.valueOf( value );
+                        break;
+                    case LONG:
+                        fields[ i ] = value == null ? null : Long.valueOf( value );
+                        break;
+                    case FLOAT:
+                        fields[ i ] = value == null ? null : Float.valueOf( value );
+                        break;
+                    case DOUBLE:
+                        fields[ i ] = value == null ? null : Double.valueOf( value );
+                        break;
+                    default:
+                        return null;
+                }
+            }
+        } catch ( NumberFormatException e ) {
+            return null;
+        }
+        return new FieldDoc( cursor.getDoc(),
+                             Float.NaN,
+                             fields );
+    }
+
+    //Scores are not computed for sorted searches, so relevance sorted hits have no usable sort value
+    private static boolean isCursorSupported( final SortField.Type type ) {
+        switch ( type ) {
+            case STRING:
+            case STRING_VAL:
+            case DOC:
+            case INT:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private RefactoringPageResponse toRefactoringPageResponse( final PageResponse<RefactoringPageRow> response,
+                                                               final SearchPage page ) {
+        final RefactoringPageResponse refactoringPageResponse = new RefactoringPageResponse();
+        refactoringPageResponse.setPageRowList( response.getPageRowList() );
+        refactoringPageResponse.setStartRowIndex( response.getStartRowIndex() );
+        refactoringPageResponse.setTotalRowSize( response.getTotalRowSize() );
+        refactoringPageResponse.setTotalRowSizeExact( response.isTotalRowSizeExact() );
+        refactoringPageResponse.setLastPage( page.lastPage );
+        refactoringPageResponse.setSearchAfter( page.searchAfter );
+        return refactoringPageResponse;
+    }
+
+    private static class SearchPage {
+
+        private final List<KObject> kObjects;
+        private final boolean lastPage;
+        private final RefactoringPageCursor searchAfter;
+
+        private SearchPage( final List<KObject> kObjects,
+                            final boolean lastPage,
+                            final RefactoringPageCursor searchAfter ) {
+            this.kObjects = kObjects;
+            this.lastPage = lastPage;
+            this.searchAfter = searchAfter;
+        }
+    }
+
     /* (non-Javadoc)
      * @see org.kie.workbench.common.services.refactoring.service.RefactoringQueryService#queryToPageResponse(org.kie.workbench.common.services.refactoring.service.impact.QueryOperationRequest)
      */
@@ -22,6 +22,7 @@ import org.apache.lucene.search.RegexpQuery;
 import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.WildcardQuery;
 import org.apache.lucene.util.automaton.RegExp;
+import org.kie.workbench.common.services.refactoring.backend.server.indexing.SuffixAnalyzer;
 import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
 
 public abstract class AbstractQueryBuilder {
@@ -41,6 +42,9 @@ public abstract class AbstractQueryBuilder {
                 case REGEXP:
                     termQuery = new RegexpQuery(term, RegExp.NONE); // NONE until there's a specific reason to use extend regex syntax
                     break;
+                case SUBSTRING:
+                    termQuery = getSubstringQuery(valueTerm, text);
+                    break;
                 case NORMAL:
                     termQuery = new TermQuery(term);
                     break;
@@ -51,6 +55,17 @@ public abstract class AbstractQueryBuilder {
         return termQuery;
     }
 
+    /**
+     * A substring is matched as the prefix of one of the suffixes indexed (see {@link SuffixAnalyzer}) for the term.
+     * Substrings already containing wildcards are matched against the term itself.
+     */
+    private Query getSubstringQuery(ValueIndexTerm valueTerm, String text) {
+        if (text.indexOf('*') >= 0 || text.indexOf('?') >= 0) {
+            return new WildcardQuery(new Term(valueTerm.getTerm(), "*" + text + "*"));
+        }
+        return new PrefixQuery(new Term(SuffixAnalyzer.getSuffixesFieldName(valueTerm.getTerm()), text));
+    }
+
     /**
      * The following are all special characters in lucene queries: </br>
      * <code>+ - && || ! ( ) { } [ ] ^ " ~ * ? : \</code>
@@ -32,15 +32,14 @@ import static org.apache.commons.codec.binary.Base64.encodeBase64String;
 
 public class KObjectUtil {
 
-    private static final MessageDigest DIGEST;
-
-    static {
+    //MessageDigest is not thread-safe and resources can be indexed concurrently
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
         try {
-            DIGEST = MessageDigest.getInstance("SHA1");
+            return MessageDigest.getInstance("SHA1");
         } catch (final NoSuchAlgorithmException e) {
             throw new RuntimeException(e);
         }
-    }
+    });
 
     private static final MetaType META_TYPE = new MetaType() {
         @Override
@@ -161,6 +160,6 @@ public class KObjectUtil {
         if (input == null || input.trim().length() == 0) {
             return "--";
         }
-        return encodeBase64String(DIGEST.digest(input.getBytes()));
+        return encodeBase64String(DIGEST.get().digest(input.getBytes()));
     }
 }
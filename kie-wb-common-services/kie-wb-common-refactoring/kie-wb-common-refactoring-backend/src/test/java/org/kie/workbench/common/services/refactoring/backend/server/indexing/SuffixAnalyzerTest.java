@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.indexing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.WildcardQuery;
+import org.junit.Test;
+import org.kie.workbench.common.services.refactoring.backend.server.query.builder.SingleTermQueryBuilder;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
+
+import static org.junit.Assert.*;
+
+public class SuffixAnalyzerTest {
+
+    @Test
+    public void testValueIsAnalyzedIntoSuffixes() throws Exception {
+        final List<String> tokens = analyze(new SuffixAnalyzer(),
+                                            "fileName",
+                                            "My.Drl");
+
+        assertEquals(6,
+                     tokens.size());
+        assertTrue(tokens.contains("my.drl"));
+        assertTrue(tokens.contains("y.drl"));
+        assertTrue(tokens.contains(".drl"));
+        assertTrue(tokens.contains("l"));
+        assertFalse(tokens.contains("my"));
+    }
+
+    @Test
+    public void testSuffixesFieldsAreAnalyzedIntoSuffixes() throws Exception {
+        final List<String> tokens = analyze(new ImpactAnalysisAnalyzerWrapper(),
+                                            SuffixAnalyzer.getSuffixesFieldName("fileName"),
+                                            "ab");
+
+        assertEquals(2,
+                     tokens.size());
+        assertTrue(tokens.contains("ab"));
+        assertTrue(tokens.contains("b"));
+    }
+
+    @Test
+    public void testSubstringIsQueriedAsPrefixOfSuffixes() {
+        final Query query = new SingleTermQueryBuilder(new TestValueIndexTerm("Rule")).build();
+
+        assertTrue(query instanceof PrefixQuery);
+        assertEquals(SuffixAnalyzer.getSuffixesFieldName("fileName"),
+                     ((PrefixQuery) query).getPrefix().field());
+        assertEquals("rule",
+                     ((PrefixQuery) query).getPrefix().text());
+    }
+
+    @Test
+    public void testSubstringWithWildcardsIsQueriedAsWildcard() {
+        final Query query = new SingleTermQueryBuilder(new TestValueIndexTerm("ru?e")).build();
+
+        assertTrue(query instanceof WildcardQuery);
+        assertEquals("fileName",
+                     ((WildcardQuery) query).getTerm().field());
+        assertEquals("*ru?e*",
+                     ((WildcardQuery) query).getTerm().text());
+    }
+
+    private List<String> analyze(final Analyzer analyzer,
+                                 final String fieldName,
+                                 final String value) throws Exception {
+        final List<String> tokens = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(fieldName,
+                                                       value)) {
+            final CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                tokens.add(term.toString());
+            }
+            stream.end();
+        }
+        return tokens;
+    }
+
+    private static class TestValueIndexTerm implements ValueIndexTerm {
+
+        private final String value;
+
+        private TestValueIndexTerm(final String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String getValue() {
+            return value;
+        }
+
+        @Override
+        public TermSearchType getSearchType() {
+            return TermSearchType.SUBSTRING;
+        }
+
+        @Override
+        public String getTerm() {
+            return "fileName";
+        }
+    }
+}
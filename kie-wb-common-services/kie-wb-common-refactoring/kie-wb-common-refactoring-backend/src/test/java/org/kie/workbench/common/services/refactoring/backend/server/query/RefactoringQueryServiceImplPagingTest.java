@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.query;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.kie.workbench.common.services.refactoring.backend.server.BaseIndexingTest;
+import org.kie.workbench.common.services.refactoring.backend.server.TestIndexer;
+import org.kie.workbench.common.services.refactoring.backend.server.drl.TestDrlFileIndexer;
+import org.kie.workbench.common.services.refactoring.backend.server.drl.TestDrlFileTypeDefinition;
+import org.kie.workbench.common.services.refactoring.backend.server.query.response.DefaultResponseBuilder;
+import org.kie.workbench.common.services.refactoring.backend.server.query.response.ResponseBuilder;
+import org.kie.workbench.common.services.refactoring.backend.server.query.standard.FindResourceReferencesQuery;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueReferenceIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageCursor;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRequest;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageResponse;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
+import org.kie.workbench.common.services.refactoring.service.ResourceType;
+import org.uberfire.paging.PageResponse;
+
+import static org.junit.Assert.*;
+
+public class RefactoringQueryServiceImplPagingTest extends BaseIndexingTest<TestDrlFileTypeDefinition> {
+
+    private static final int NUMBER_OF_FILES = 7;
+
+    protected Set<NamedQuery> getQueries() {
+        return new HashSet<NamedQuery>() {{
+            add( new FindResourceReferencesQuery() {
+                @Override
+                public ResponseBuilder getResponseBuilder() {
+                    return new DefaultResponseBuilder( ioService() );
+                }
+            } );
+        }};
+    }
+
+    @Test
+    public void testPagingByStartRowIndexAndCursor() throws IOException, InterruptedException {
+        final String drl = loadText( "findresources/drl1.drl" );
+        for ( int i = 0; i < NUMBER_OF_FILES; i++ ) {
+            ioService().write( basePath.resolve( "paging" + i + ".drl" ),
+                               drl );
+        }
+
+        Thread.sleep( 5000 ); //wait for events to be consumed from jgit -> (notify changes -> watcher -> index) -> lucene index
+
+        //Page by start row index
+        final Set<String> pagedByIndex = new HashSet<>();
+        for ( int startRow = 0; startRow < NUMBER_OF_FILES; startRow += 3 ) {
+            final PageResponse<RefactoringPageRow> response = service.query( makeRequest( startRow ) );
+            assertTrue( response instanceof RefactoringPageResponse );
+            assertEquals( startRow + 3 >= NUMBER_OF_FILES,
+                          response.isLastPage() );
+            collectFileNames( response,
+                              pagedByIndex );
+        }
+
+        //Page by cursor
+        final Set<String> pagedByCursor = new HashSet<>();
+        RefactoringPageCursor searchAfter = null;
+        int pages = 0;
+        do {
+            final RefactoringPageRequest request = makeRequest( 0 );
+            request.setSearchAfter( searchAfter );
+            final RefactoringPageResponse response = (RefactoringPageResponse) service.query( request );
+            collectFileNames( response,
+                              pagedByCursor );
+            searchAfter = response.isLastPage() ? null : response.getSearchAfter();
+            pages++;
+        } while ( searchAfter != null );
+
+        assertEquals( 3,
+                      pages );
+        assertEquals( pagedByIndex,
+                      pagedByCursor );
+        for ( int i = 0; i < NUMBER_OF_FILES; i++ ) {
+            assertTrue( pagedByIndex.contains( "paging" + i + ".drl" ) );
+        }
+
+        //Page beyond the last hit
+        assertTrue( service.query( makeRequest( NUMBER_OF_FILES + 10 ) ).getPageRowList().isEmpty() );
+    }
+
+    private RefactoringPageRequest makeRequest( final int startRow ) {
+        return new RefactoringPageRequest( FindResourceReferencesQuery.NAME,
+                                           new HashSet<ValueIndexTerm>() {{
+                                               add( new ValueReferenceIndexTerm( "org.kie.workbench.common.services.refactoring.backend.server.drl.classes.Applicant",
+                                                                                 ResourceType.JAVA ) );
+                                           }},
+                                           startRow,
+                                           3 );
+    }
+
+    private void collectFileNames( final PageResponse<RefactoringPageRow> response,
+                                   final Set<String> fileNames ) {
+        for ( RefactoringPageRow row : response.getPageRowList() ) {
+            final String fileName = ( (org.uberfire.backend.vfs.Path) row.getValue() ).getFileName();
+            assertTrue( "Duplicate row " + fileName,
+                        fileNames.add( fileName ) );
+        }
+    }
+
+    @Override
+    protected TestIndexer getIndexer() {
+        return new TestDrlFileIndexer();
+    }
+
+    @Override
+    protected TestDrlFileTypeDefinition getResourceTypeDefinition() {
+        return new TestDrlFileTypeDefinition();
+    }
+
+    @Override
+    protected String getRepositoryName() {
+        return this.getClass().getSimpleName();
+    }
+
+}
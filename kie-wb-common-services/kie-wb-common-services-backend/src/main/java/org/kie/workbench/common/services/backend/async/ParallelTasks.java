@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.async;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.uberfire.commons.async.SimpleAsyncExecutorService;
+
+/**
+ * Runs independent tasks in parallel on the shared {@link SimpleAsyncExecutorService}, which is managed by the
+ * container when available. At most {@link #PARALLELISM} tasks of a call run at a time, the calling thread being
+ * one of the workers; so a call always completes, even when the executor has no thread to spare.
+ */
+public final class ParallelTasks {
+
+    public static final String PARALLELISM_PROPERTY = "org.kie.workbench.parallelism";
+
+    static final int PARALLELISM = Math.max(1,
+                                            Integer.getInteger(PARALLELISM_PROPERTY,
+                                                               Math.min(4,
+                                                                        Runtime.getRuntime().availableProcessors())));
+
+    private ParallelTasks() {
+    }
+
+    /**
+     * @param tasks The tasks to run
+     * @return The Futures of the tasks, in the same order, all of which are done
+     */
+    public static <T> List<Future<T>> invokeAll(final List<? extends Callable<T>> tasks) {
+        return invokeAll(tasks,
+                         PARALLELISM);
+    }
+
+    static <T> List<Future<T>> invokeAll(final List<? extends Callable<T>> tasks,
+                                         final int parallelism) {
+        final List<Future<T>> futures = new ArrayList<Future<T>>(tasks.size());
+        final Queue<FutureTask<T>> pending = new ConcurrentLinkedQueue<FutureTask<T>>();
+        for (final Callable<T> task : tasks) {
+            final FutureTask<T> future = new FutureTask<T>(task);
+            futures.add(future);
+            pending.add(future);
+        }
+
+        final Runnable worker = () -> {
+            FutureTask<T> future;
+            while ((future = pending.poll()) != null) {
+                future.run();
+            }
+        };
+        final int helpers = Math.min(parallelism,
+                                     futures.size()) - 1;
+        if (helpers > 0) {
+            final Executor executor = SimpleAsyncExecutorService.getDefaultInstance();
+            try {
+                for (int i = 0; i < helpers; i++) {
+                    executor.execute(worker);
+                }
+            } catch (RejectedExecutionException e) {
+                //The calling thread runs the remaining tasks
+            }
+        }
+        worker.run();
+
+        //Tasks taken by the other workers may still be running
+        boolean interrupted = false;
+        for (final Future<T> future : futures) {
+            while (!future.isDone()) {
+                try {
+                    future.get();
+                } catch (InterruptedException ie) {
+                    interrupted = true;
+                } catch (Exception e) {
+                    //Reported by the Future to the caller
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return Collections.unmodifiableList(futures);
+    }
+}
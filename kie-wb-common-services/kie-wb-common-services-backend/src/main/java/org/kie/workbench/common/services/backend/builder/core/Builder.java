@@ -19,14 +19,19 @@ package org.kie.workbench.common.services.backend.builder.core;
 import java.io.BufferedInputStream;
 import java.io.InputStream;
 import java.io.Serializable;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.LongConsumer;
 import java.util.function.Predicate;
 
 import org.drools.compiler.kie.builder.impl.InternalKieModule;
@@ -34,6 +39,7 @@ import org.drools.compiler.kie.builder.impl.KieBuilderImpl;
 import org.drools.compiler.kie.builder.impl.KieContainerImpl;
 import org.drools.compiler.kie.builder.impl.KieFileSystemImpl;
 import org.drools.compiler.kie.builder.impl.KieModuleKieProject;
+import org.drools.compiler.kie.builder.impl.MemoryKieModule;
 import org.drools.compiler.kproject.xml.DependencyFilter;
 import org.drools.compiler.kproject.xml.PomModel;
 import org.drools.workbench.models.datamodel.imports.Import;
@@ -48,6 +54,7 @@ import org.guvnor.common.services.project.model.GAV;
 import org.guvnor.common.services.project.model.Package;
 import org.guvnor.common.services.project.model.Project;
 import org.guvnor.common.services.project.model.ProjectImports;
+import org.guvnor.common.services.project.utils.ProjectResourcePaths;
 import org.guvnor.common.services.shared.validation.model.ValidationMessage;
 import org.kie.api.KieServices;
 import org.kie.api.builder.KieBuilder;
@@ -96,10 +103,18 @@ public class Builder implements Serializable {
     private final Path projectRoot;
     private final IOService ioService;
     private final String projectPrefix;
+    private final List<Path> sourceRoots;
 
     private final Handles handles = new Handles();
     private final KieProjectService projectService;
     private KieBuilder kieBuilder;
+    //The result of the last build. Readers use this without waiting for a build in progress
+    private volatile BuildSnapshot snapshot;
+    //The number of full builds performed; incremental builds leave it unchanged
+    private volatile long fullBuildCount;
+    //Clones are only used for validation, so their KieModule is not copied when published
+    private final boolean isClone;
+    private final ValidationOverlay validationOverlay = new ValidationOverlay( this );
     private final ProjectImportsService importsService;
     private final List<BuildValidationHelper> buildValidationHelpers;
 
@@ -111,6 +126,9 @@ public class Builder implements Serializable {
 
     private final Set<String> javaResources = new HashSet<String>();
 
+    //Digest of the content of each resource in the KieFileSystem, keyed by its path in the KieFileSystem
+    private final Map<String, String> sourceManifest = new HashMap<String, String>();
+
     private LRUProjectDependenciesClassLoaderCache dependenciesClassLoaderCache;
     private LRUPomModelCache pomModelCache;
     private PackageNameWhiteListService packageNameWhiteListService;
@@ -139,14 +157,52 @@ public class Builder implements Serializable {
         this.projectGAV = project.getPom().getGav();
         this.projectRoot = Paths.convert( project.getRootPath() );
         this.projectPrefix = projectRoot.toUri().toString();
+        this.sourceRoots = Arrays.asList( projectRoot.resolve( ProjectResourcePaths.MAIN_SRC_PATH ),
+                                          projectRoot.resolve( ProjectResourcePaths.TEST_SRC_PATH ),
+                                          projectRoot.resolve( ProjectResourcePaths.MAIN_RESOURCES_PATH ),
+                                          projectRoot.resolve( ProjectResourcePaths.TEST_RESOURCES_PATH ) );
         this.kieServices = KieServices.Factory.get();
         this.kieBuilder = kieBuilder;
         this.kieFileSystem = kieFileSystem;
         this.dependenciesClassLoaderCache = dependenciesClassLoaderCache;
         this.pomModelCache = pomModelCache;
-
-        DirectoryStream<org.uberfire.java.nio.file.Path> directoryStream = Files.newDirectoryStream( projectRoot );
-        visitPaths( directoryStream );
+        this.isClone = false;
+
+        loadResources();
+    }
+
+    //Used by clone(); the KieFileSystem is a copy of the original so resources need not be re-read
+    private Builder( final Builder original,
+                     final KieBuilder kieBuilder,
+                     final KieFileSystem kieFileSystem ) {
+        this.project = original.project;
+        this.ioService = original.ioService;
+        this.projectService = original.projectService;
+        this.importsService = original.importsService;
+        this.buildValidationHelpers = original.buildValidationHelpers;
+        this.packageNameWhiteListService = original.packageNameWhiteListService;
+        this.classFilter = original.classFilter;
+
+        this.projectGAV = original.projectGAV;
+        this.projectRoot = original.projectRoot;
+        this.projectPrefix = original.projectPrefix;
+        this.sourceRoots = original.sourceRoots;
+        this.kieServices = original.kieServices;
+        this.kieBuilder = kieBuilder;
+        this.kieFileSystem = kieFileSystem;
+        this.dependenciesClassLoaderCache = original.dependenciesClassLoaderCache;
+        this.pomModelCache = original.pomModelCache;
+        this.isClone = true;
+
+        this.handles.putAll( original.handles );
+        this.nonKieResourceValidationHelpers.putAll( original.nonKieResourceValidationHelpers );
+        this.nonKieResourceValidationHelperMessages.putAll( original.nonKieResourceValidationHelperMessages );
+        this.javaResources.addAll( original.javaResources );
+        this.sourceManifest.putAll( original.sourceManifest );
+
+        if ( kieBuilder != null ) {
+            publish();
+        }
     }
 
     public Builder( final Project project,
@@ -172,20 +228,14 @@ public class Builder implements Serializable {
     }
 
     public Builder clone() {
-        final KieFileSystem kieFileSystemClone = kieFileSystemClone();
-        final KieBuilderImpl kieBuilder = kieBuilderClone( kieFileSystemClone );
-
-        return new Builder( project,
-                            ioService,
-                            projectService,
-                            importsService,
-                            buildValidationHelpers,
-                            dependenciesClassLoaderCache,
-                            pomModelCache,
-                            packageNameWhiteListService,
-                            classFilter,
-                            kieBuilder,
-                            kieFileSystemClone );
+        synchronized ( kieFileSystem ) {
+            final KieFileSystem kieFileSystemClone = kieFileSystemClone();
+            final KieBuilderImpl kieBuilder = kieBuilderClone( kieFileSystemClone );
+
+            return new Builder( this,
+                                kieBuilder,
+                                kieFileSystemClone );
+        }
     }
 
     private KieFileSystem kieFileSystemClone() {
@@ -208,6 +258,7 @@ public class Builder implements Serializable {
         synchronized ( kieFileSystem ) {
             //KieBuilder is not re-usable for successive "full" builds
             kieBuilder = createKieBuilder( kieFileSystem );
+            fullBuildCount++;
 
             //Record RTEs from KieBuilder - that can fail if a rule uses an inaccessible class
             final BuildResults results = new BuildResults( projectGAV );
@@ -234,6 +285,7 @@ public class Builder implements Serializable {
                     pomModelCache.setEntry( project, pomModel );
                 }
             }
+            publish();
 
             //Add validate messages from external helpers
             for ( Map.Entry<Path, BuildValidationHelper> e : nonKieResourceValidationHelpers.entrySet() ) {
@@ -286,6 +338,7 @@ public class Builder implements Serializable {
             final Resource inputStreamResource = KieServices.Factory.get().getResources().newInputStreamResource( new BufferedInputStream( inputStream ) );
 
             kieFileSystem.write( destinationPath, inputStreamResource );
+            updateSourceManifest( destinationPath );
 
             return build();
         }
@@ -347,7 +400,9 @@ public class Builder implements Serializable {
     }
 
     private void removeResource( final Path resource ) {
-        kieFileSystem.delete( destinationPath( resource ) );
+        final String destinationPath = destinationPath( resource );
+        kieFileSystem.delete( destinationPath );
+        sourceManifest.remove( destinationPath );
         removeJavaClass( resource );
     }
 
@@ -392,10 +447,38 @@ public class Builder implements Serializable {
         final Resource inputStreamResource = KieServices.Factory.get().getResources().newInputStreamResource( new BufferedInputStream( inputStream ) );
 
         kieFileSystem.write( destinationPath, inputStreamResource );
+        updateSourceManifest( destinationPath );
+        handles.put( getBaseFileName( destinationPath ), Paths.convert( path ) );
+        addJavaClass( path );
+    }
+
+    private void addNewResource( final Path path,
+                                 final byte[] content ) {
+        final String destinationPath = destinationPath( path );
+
+        kieFileSystem.write( destinationPath, content );
+        sourceManifest.put( destinationPath, digest( content ) );
         handles.put( getBaseFileName( destinationPath ), Paths.convert( path ) );
         addJavaClass( path );
     }
 
+    private void updateSourceManifest( final String destinationPath ) {
+        final byte[] content = kieFileSystem.read( destinationPath );
+        if ( content == null ) {
+            sourceManifest.remove( destinationPath );
+        } else {
+            sourceManifest.put( destinationPath, digest( content ) );
+        }
+    }
+
+    private static String digest( final byte[] content ) {
+        try {
+            return Base64.getEncoder().encodeToString( MessageDigest.getInstance( "SHA-1" ).digest( content ) );
+        } catch ( NoSuchAlgorithmException e ) {
+            throw new IllegalStateException( e );
+        }
+    }
+
     private String destinationPath( final Path resource ) {
         return resource.toUri().toString().substring( projectPrefix.length() + 1 );
     }
@@ -413,6 +496,23 @@ public class Builder implements Serializable {
         }
     }
 
+    /**
+     * Validate a resource against this Builder, without modifying the Builder.
+     * @param resource The resource being validated
+     * @param inputStream The content to validate
+     * @return Messages for the resource
+     */
+    public IncrementalBuildResults validateResource( final Path resource,
+                                                     final InputStream inputStream ) {
+        checkNotNull( "resource",
+                      resource );
+
+        checkAFullBuildHasBeenPerformed();
+
+        return validationOverlay.validate( resource,
+                                           inputStream );
+    }
+
     public IncrementalBuildResults applyBatchResourceChanges( final Map<org.uberfire.backend.vfs.Path, Collection<ResourceChange>> changes ) {
         synchronized ( kieFileSystem ) {
             checkNotNull( "changes",
@@ -426,37 +526,57 @@ public class Builder implements Serializable {
             final List<ValidationMessage> nonKieResourceValidatorRemovedMessages = new ArrayList<ValidationMessage>();
 
             for ( final Map.Entry<org.uberfire.backend.vfs.Path, Collection<ResourceChange>> pathCollectionEntry : changes.entrySet() ) {
-                for ( final ResourceChange change : pathCollectionEntry.getValue() ) {
-                    final ResourceChangeType type = change.getType();
-                    final Path resource = Paths.convert( pathCollectionEntry.getKey() );
-
-                    checkNotNull( "type",
-                                  type );
-                    checkNotNull( "resource",
-                                  resource );
-
-                    final String destinationPath = destinationPath( resource );
-                    changedFilesKieBuilderPaths.add( destinationPath );
-                    switch ( type ) {
-                        case ADD:
-                        case UPDATE:
-                            //Only files can be processed
-                            if ( !Files.isRegularFile( resource ) ) {
-                                continue;
-                            }
-
-                            update( nonKieResourceValidatorAddedMessages,
-                                    nonKieResourceValidatorRemovedMessages,
-                                    resource,
-                                    destinationPath );
-
-                            break;
-                        case DELETE:
-                            delete( nonKieResourceValidatorRemovedMessages,
-                                    resource,
-                                    destinationPath );
+                //Successive changes to the same resource are coalesced; the resource's current state is all that needs building
+                final ResourceChange change = lastChange( pathCollectionEntry.getValue() );
+                if ( change == null ) {
+                    continue;
+                }
+
+                final ResourceChangeType type = change.getType();
+                final Path resource = Paths.convert( pathCollectionEntry.getKey() );
+
+                checkNotNull( "type",
+                              type );
+                checkNotNull( "resource",
+                              resource );
+
+                final String destinationPath = destinationPath( resource );
+                switch ( type ) {
+                    case ADD:
+                    case UPDATE:
+                        //Only files can be processed
+                        if ( !Files.isRegularFile( resource ) ) {
+                            changedFilesKieBuilderPaths.add( destinationPath );
+                            continue;
+                        }
+
+                        //Resources whose content has not changed need not be re-built
+                        final byte[] content = ioService.readAllBytes( resource );
+                        final String digest = digest( content );
+                        if ( digest.equals( sourceManifest.get( destinationPath ) ) ) {
+                            continue;
+                        }
+
+                        changedFilesKieBuilderPaths.add( destinationPath );
+                        update( nonKieResourceValidatorAddedMessages,
+                                nonKieResourceValidatorRemovedMessages,
+                                resource,
+                                destinationPath,
+                                content );
+                        sourceManifest.put( destinationPath,
+                                            digest );
+
+                        break;
+                    case DELETE:
+                        //A resource added and deleted within the batch was never built, so there's nothing to remove
+                        if ( isAdded( pathCollectionEntry.getValue() ) && !sourceManifest.containsKey( destinationPath ) ) {
+                            continue;
+                        }
+                        changedFilesKieBuilderPaths.add( destinationPath );
+                        delete( nonKieResourceValidatorRemovedMessages,
+                                resource,
+                                destinationPath );
 
-                    }
                 }
             }
 
@@ -473,6 +593,25 @@ public class Builder implements Serializable {
         }
     }
 
+    private ResourceChange lastChange( final Collection<ResourceChange> changes ) {
+        ResourceChange last = null;
+        if ( changes != null ) {
+            for ( ResourceChange change : changes ) {
+                last = change;
+            }
+        }
+        return last;
+    }
+
+    private boolean isAdded( final Collection<ResourceChange> changes ) {
+        for ( ResourceChange change : changes ) {
+            if ( ResourceChangeType.ADD.equals( change.getType() ) ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private String[] toArray( List<String> stringList ) {
         final String[] stringArray = new String[ stringList.size() ];
         stringList.toArray( stringArray );
@@ -493,13 +632,15 @@ public class Builder implements Serializable {
 
         //The file has already been deleted so we can't check if the Path is a file or folder :(
         kieFileSystem.delete( destinationPath );
+        sourceManifest.remove( destinationPath );
         removeJavaClass( resource );
     }
 
     private void update( final List<ValidationMessage> nonKieResourceValidatorAddedMessages,
                          final List<ValidationMessage> nonKieResourceValidatorRemovedMessages,
                          final Path resource,
-                         final String destinationPath ) {
+                         final String destinationPath,
+                         final byte[] content ) {
         //Resource Type might require "external" validation (i.e. it's not covered by Kie)
         final BuildValidationHelper validator = getBuildValidationHelper( resource );
         if ( validator != null ) {
@@ -524,10 +665,8 @@ public class Builder implements Serializable {
         }
 
         //Add new resource
-        final InputStream is = ioService.newInputStream( resource );
-        final BufferedInputStream bis = new BufferedInputStream( is );
         kieFileSystem.write( destinationPath,
-                             KieServices.Factory.get().getResources().newInputStreamResource( bis ) );
+                             content );
         addJavaClass( resource );
         handles.put( getBaseFileName( destinationPath ),
                      Paths.convert( resource ) );
@@ -556,9 +695,18 @@ public class Builder implements Serializable {
             logger.error( msg,
                           e );
             results.addAddedMessage( makeErrorMessage( msg ) );
+
+        } finally {
+            //The KieModule has been updated in place; publish a copy of it for readers
+            publish();
         }
     }
 
+    private void publish() {
+        snapshot = new BuildSnapshot( kieBuilder,
+                                      !isClone );
+    }
+
     private void checkAFullBuildHasBeenPerformed() {
         if ( !isBuilt() ) {
             throw new IllegalStateException( "A full build needs to be performed before any incremental operations." );
@@ -566,29 +714,30 @@ public class Builder implements Serializable {
     }
 
     public KieModule getKieModule() {
-        //Kie classes are only available once built
-        if ( !isBuilt() ) {
-            build();
-        }
-        synchronized ( kieFileSystem ) {
-            return kieBuilder.getKieModule();
-        }
+        return assertSnapshot().getKieModule();
     }
 
     public KieModule getKieModuleIgnoringErrors() {
-        //Kie classes are only available once built
-        if ( !isBuilt() ) {
-            build();
-        }
-        synchronized ( kieFileSystem ) {
-            return ( (InternalKieBuilder) kieBuilder ).getKieModuleIgnoringErrors();
-        }
+        return assertSnapshot().getKieModuleIgnoringErrors();
     }
 
     public KieModuleMetaData getKieModuleMetaDataIgnoringErrors() {
-        return KieModuleMetaData.Factory.newKieModuleMetaData( getKieModuleIgnoringErrors(),
-                                                               DependencyFilter.COMPILE_FILTER );
+        return assertSnapshot().getKieModuleMetaData();
+    }
 
+    //Readers only take the lock to perform the initial build; thereafter they use the published snapshot
+    private BuildSnapshot assertSnapshot() {
+        final BuildSnapshot current = snapshot;
+        if ( current != null ) {
+            return current;
+        }
+        synchronized ( kieFileSystem ) {
+            //Kie classes are only available once built
+            if ( snapshot == null ) {
+                build();
+            }
+            return snapshot;
+        }
     }
 
     public TypeSourceResolver getTypeSourceResolver( KieModuleMetaData kieModuleMetaData ) {
@@ -604,7 +753,9 @@ public class Builder implements Serializable {
             results = build();
         } else {
             results = new BuildResults();
-            results.addAllBuildMessages( convertMessages( kieBuilder.getResults().getMessages(), handles ) );
+            synchronized ( kieFileSystem ) {
+                results.addAllBuildMessages( convertMessages( kieBuilder.getResults().getMessages(), handles ) );
+            }
         }
         //It's impossible to retrieve a KieContainer if the KieModule contains errors
         if ( results.getErrorMessages().isEmpty() ) {
@@ -612,9 +763,13 @@ public class Builder implements Serializable {
             // create the KieContainer from KieRepository. This holds the most recent KieModule (for the ReleaseId) that was built with
             // kieBuilder.buildAll() which *may* be a KieModule created during asset validation and hence will lack many assets.
             // See https://bugzilla.redhat.com/show_bug.cgi?id=1202551
-            final KieModule kieModule = kieBuilder.getKieModule();
+            //The KieContainer is created from the KieBuilder's own KieModule as it holds the compiled KieBases
+            final KieModule kieModule;
+            synchronized ( kieFileSystem ) {
+                kieModule = kieBuilder.getKieModule();
+            }
             final ReleaseId releaseId = kieModule.getReleaseId();
-            final org.drools.compiler.kie.builder.impl.KieProject kieProject = new KieModuleKieProject( (InternalKieModule) kieBuilder.getKieModule(), null );
+            final org.drools.compiler.kie.builder.impl.KieProject kieProject = new KieModuleKieProject( (InternalKieModule) kieModule, null );
             final KieContainer kieContainer = new KieContainerImpl( kieProject,
                                                                     KieServices.Factory.get().getRepository(),
                                                                     releaseId );
@@ -625,31 +780,24 @@ public class Builder implements Serializable {
     }
 
     public boolean isBuilt() {
-        synchronized ( kieFileSystem ) {
-            return kieBuilder != null;
-        }
+        return snapshot != null;
     }
 
-    private void visitPaths( final DirectoryStream<org.uberfire.java.nio.file.Path> directoryStream ) {
-        for ( final org.uberfire.java.nio.file.Path path : directoryStream ) {
-            if ( Files.isDirectory( path ) ) {
-                visitPaths( Files.newDirectoryStream( path ) );
-
-            } else {
-                //Don't process dotFiles
-                if ( !dotFileFilter.accept( path ) ) {
+    private void loadResources() {
+        //Don't process dotFiles
+        new ProjectSourceLoader( ioService,
+                                 dotFileFilter ).load( projectRoot,
+                                                       ( path, content ) -> {
+                                                           //Resource Type might require "external" validation (i.e. it's not covered by Kie)
+                                                           final BuildValidationHelper validator = getBuildValidationHelper( path );
+                                                           if ( validator != null ) {
+                                                               nonKieResourceValidationHelpers.put( path,
+                                                                                                    validator );
+                                                           }
 
-                    //Resource Type might require "external" validation (i.e. it's not covered by Kie)
-                    final BuildValidationHelper validator = getBuildValidationHelper( path );
-                    if ( validator != null ) {
-                        nonKieResourceValidationHelpers.put( path,
-                                                             validator );
-                    }
-
-                    addNewResource( path, ioService.newInputStream( path ) );
-                }
-            }
-        }
+                                                           addNewResource( path,
+                                                                           content );
+                                                       } );
     }
 
     private void addJavaClass( final Path path ) {
@@ -672,9 +820,8 @@ public class Builder implements Serializable {
         }
     }
 
-    private String getFullyQualifiedClassName( final Path path ) {
-        final Package pkg = projectService.resolvePackage( Paths.convert( path ) );
-        final String packageName = pkg.getPackageName();
+    String getFullyQualifiedClassName( final Path path ) {
+        final String packageName = getPackageName( path );
         if ( packageName == null ) {
             return null;
         }
@@ -683,6 +830,25 @@ public class Builder implements Serializable {
         return ( packageName.equals( "" ) ? className : packageName + "." + className );
     }
 
+    //The package of a Java file follows from its folder within the Project's source roots, so the Project
+    //need not be resolved for each file. Java files outside of the source roots are resolved by the ProjectService.
+    private String getPackageName( final Path path ) {
+        for ( Path sourceRoot : sourceRoots ) {
+            if ( path.startsWith( sourceRoot ) ) {
+                final StringBuilder packageName = new StringBuilder();
+                for ( int i = sourceRoot.getNameCount(); i < path.getNameCount() - 1; i++ ) {
+                    if ( packageName.length() > 0 ) {
+                        packageName.append( '.' );
+                    }
+                    packageName.append( path.getName( i ).toString() );
+                }
+                return packageName.toString();
+            }
+        }
+        final Package pkg = projectService.resolvePackage( Paths.convert( path ) );
+        return pkg == null ? null : pkg.getPackageName();
+    }
+
     private BuildValidationHelper getBuildValidationHelper( final Path nioResource ) {
         for ( BuildValidationHelper validator : buildValidationHelpers ) {
             final org.uberfire.backend.vfs.Path resource = Paths.convert( nioResource );
@@ -696,4 +862,160 @@ public class Builder implements Serializable {
     KieFileSystem getKieFileSystem() {
         return kieFileSystem;
     }
+
+    /**
+     * The KieModule and KieModuleMetaData of a completed build. Drools updates the KieBuilder's KieModule in place
+     * during incremental builds, so the snapshot holds a copy of the KieModule taken when the build completed. A new
+     * snapshot is published after every full and incremental build; readers never wait for a build in progress and
+     * KieModuleMetaData is created once per build rather than on every request.
+     */
+    private static class BuildSnapshot {
+
+        private final InternalKieModule kieModule;
+
+        //Reason the KieModule cannot be used, when the build had errors
+        private final String kieModuleError;
+
+        private volatile KieModuleMetaData kieModuleMetaData;
+
+        private BuildSnapshot( final KieBuilder kieBuilder,
+                               final boolean copyKieModule ) {
+            final InternalKieModule kieModule = (InternalKieModule) ( (InternalKieBuilder) kieBuilder ).getKieModuleIgnoringErrors();
+            this.kieModule = copyKieModule ? copyOf( kieModule ) : kieModule;
+            String error = null;
+            try {
+                kieBuilder.getKieModule();
+            } catch ( RuntimeException e ) {
+                error = e.getMessage();
+            }
+            this.kieModuleError = error;
+        }
+
+        private static InternalKieModule copyOf( final InternalKieModule kieModule ) {
+            if ( !( kieModule instanceof MemoryKieModule ) ) {
+                return kieModule;
+            }
+            final MemoryKieModule original = (MemoryKieModule) kieModule;
+            final MemoryKieModule copy = new MemoryKieModule( original.getReleaseId(),
+                                                              original.getKieModuleModel(),
+                                                              original.getMemoryFileSystem().clone() );
+            copy.setPomModel( original.getPomModel() );
+            for ( InternalKieModule dependency : original.getKieDependencies().values() ) {
+                copy.addKieDependency( dependency );
+            }
+            return copy;
+        }
+
+        private KieModule getKieModule() {
+            if ( kieModuleError != null ) {
+                throw new RuntimeException( kieModuleError );
+            }
+            return kieModule;
+        }
+
+        private KieModule getKieModuleIgnoringErrors() {
+            return kieModule;
+        }
+
+        private KieModuleMetaData getKieModuleMetaData() {
+            KieModuleMetaData metaData = kieModuleMetaData;
+            if ( metaData == null ) {
+                synchronized ( this ) {
+                    metaData = kieModuleMetaData;
+                    if ( metaData == null ) {
+                        metaData = KieModuleMetaData.Factory.newKieModuleMetaData( kieModule,
+                                                                                   DependencyFilter.COMPILE_FILTER );
+                        kieModuleMetaData = metaData;
+                    }
+                }
+            }
+            return metaData;
+        }
+    }
+
+    /**
+     * @return The number of resources held for validating resources against this Builder
+     */
+    long getValidationOverlayWeight() {
+        return validationOverlay.getWeight();
+    }
+
+    /**
+     * Discard what is held for validating resources against this Builder; e.g. when it is evicted from a cache.
+     */
+    void releaseValidationOverlay() {
+        validationOverlay.release();
+    }
+
+    /**
+     * @param listener Notified of the change in {@link #getValidationOverlayWeight()} whenever it changes
+     */
+    void setValidationOverlayWeightListener( final LongConsumer listener ) {
+        validationOverlay.setWeightListener( listener );
+    }
+
+    Object getBuildSnapshot() {
+        return snapshot;
+    }
+
+    long getFullBuildCount() {
+        return fullBuildCount;
+    }
+
+    /**
+     * Brings this Builder, a {@link #clone()} of the given Builder, up to date with it following incremental builds
+     * of the given Builder. Only resources whose content differs are copied and built, rather than cloning again.
+     * @param original The Builder this Builder was cloned from
+     * @return Messages for the resources that differed
+     */
+    IncrementalBuildResults synchronizeWith( final Builder original ) {
+        synchronized ( original.kieFileSystem ) {
+            synchronized ( kieFileSystem ) {
+                final List<String> changedFilesKieBuilderPaths = new ArrayList<String>();
+                for ( Map.Entry<String, String> e : original.sourceManifest.entrySet() ) {
+                    if ( !e.getValue().equals( sourceManifest.get( e.getKey() ) ) ) {
+                        kieFileSystem.write( e.getKey(),
+                                             original.kieFileSystem.read( e.getKey() ) );
+                        changedFilesKieBuilderPaths.add( e.getKey() );
+                    }
+                }
+                for ( String destinationPath : sourceManifest.keySet() ) {
+                    if ( !original.sourceManifest.containsKey( destinationPath ) ) {
+                        kieFileSystem.delete( destinationPath );
+                        changedFilesKieBuilderPaths.add( destinationPath );
+                    }
+                }
+                sourceManifest.clear();
+                sourceManifest.putAll( original.sourceManifest );
+
+                handles.clear();
+                handles.putAll( original.handles );
+                nonKieResourceValidationHelpers.clear();
+                nonKieResourceValidationHelpers.putAll( original.nonKieResourceValidationHelpers );
+                nonKieResourceValidationHelperMessages.clear();
+                nonKieResourceValidationHelperMessages.putAll( original.nonKieResourceValidationHelperMessages );
+                javaResources.clear();
+                javaResources.addAll( original.javaResources );
+
+                final IncrementalBuildResults results = new IncrementalBuildResults( projectGAV );
+                if ( !changedFilesKieBuilderPaths.isEmpty() ) {
+                    buildIncrementally( results,
+                                        changedFilesKieBuilderPaths.toArray( new String[ changedFilesKieBuilderPaths.size() ] ) );
+                }
+                return results;
+            }
+        }
+    }
+
+    byte[] readResource( final Path resource ) {
+        synchronized ( kieFileSystem ) {
+            return kieFileSystem.read( destinationPath( resource ) );
+        }
+    }
+
+    Map<String, String> getSourceManifest() {
+        synchronized ( kieFileSystem ) {
+            return new HashMap<String, String>( sourceManifest );
+        }
+    }
 }
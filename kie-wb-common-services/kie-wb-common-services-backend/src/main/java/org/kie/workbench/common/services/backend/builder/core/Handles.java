@@ -37,4 +37,12 @@ class Handles {
     void remove(String pathToResource) {
         handles.remove(pathToResource);
     }
+
+    void putAll(Handles other) {
+        handles.putAll(other.handles);
+    }
+
+    void clear() {
+        handles.clear();
+    }
 }
@@ -16,7 +16,16 @@
 package org.kie.workbench.common.services.backend.builder.core;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Predicate;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -27,16 +36,20 @@ import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.inject.Named;
 
-import org.guvnor.common.services.backend.cache.LRUCache;
+import org.drools.compiler.kie.builder.impl.KieFileSystemImpl;
 import org.guvnor.common.services.project.builder.events.InvalidateDMOProjectCacheEvent;
 import org.guvnor.common.services.project.builder.service.BuildValidationHelper;
+import org.guvnor.common.services.project.model.GAV;
 import org.guvnor.common.services.project.model.POM;
 import org.guvnor.common.services.project.model.Project;
+import org.kie.api.builder.KieFileSystem;
 import org.kie.workbench.common.services.backend.builder.JavaSourceFilter;
 import org.kie.workbench.common.services.backend.whitelist.PackageNameWhiteListServiceImpl;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.kie.workbench.common.services.shared.project.ProjectImportsService;
 import org.kie.workbench.common.services.shared.whitelist.PackageNameWhiteListService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.uberfire.commons.validation.PortablePreconditions;
 import org.uberfire.io.IOService;
 
@@ -44,10 +57,27 @@ import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.StreamSupport.stream;
 
 /**
- * A simple LRU cache for Builders
+ * A concurrent LRU cache for Builders.
+ * <p>
+ * Builders are loaded at most once per Project: concurrent requests for the same Project wait for the thread
+ * performing the load, whereas requests for other Projects proceed without blocking. Entries are evicted, least
+ * recently used first, when either the number of cached Builders or their total weight (the number of resources
+ * held in their KieFileSystem, and in the clone kept for validation once a resource has been validated) exceeds the
+ * configured limits.
  */
 @ApplicationScoped
-public class LRUBuilderCache extends LRUCache<Project, Builder > {
+public class LRUBuilderCache {
+
+    public static final String MAX_ENTRIES_PROPERTY = "org.kie.workbench.builder.cache.maxEntries";
+
+    public static final String MAX_WEIGHT_PROPERTY = "org.kie.workbench.builder.cache.maxWeight";
+
+    static final int DEFAULT_MAX_ENTRIES = 20;
+
+    //Bounds the resources held by Builders and their validation clones, which otherwise grow with every project opened
+    static final long DEFAULT_MAX_WEIGHT = 100000;
+
+    private static final Logger logger = LoggerFactory.getLogger(LRUBuilderCache.class);
 
     private IOService ioService;
 
@@ -69,6 +99,32 @@ public class LRUBuilderCache extends LRUCache<Project, Builder > {
 
     private final List<Predicate<String>> classFilters = new ArrayList<>();
 
+    private final ConcurrentMap<Project, CacheEntry> entries = new ConcurrentHashMap<>();
+
+    //Projects sharing a GAV, e.g. branches of one repository, are all indexed
+    private final ConcurrentMap<GAV, Set<Project>> projectsByGAV = new ConcurrentHashMap<>();
+
+    private final Object evictionLock = new Object();
+
+    //The total weight of the cached Builders, maintained as Builders are loaded, removed and change weight
+    private final LongAdder totalWeight = new LongAdder();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    private final LongAdder loadCount = new LongAdder();
+
+    private final LongAdder totalLoadTime = new LongAdder();
+
+    private volatile int maxEntries = Integer.getInteger(MAX_ENTRIES_PROPERTY,
+                                                         DEFAULT_MAX_ENTRIES);
+
+    private volatile long maxWeight = Long.getLong(MAX_WEIGHT_PROPERTY,
+                                                   DEFAULT_MAX_WEIGHT);
+
     public LRUBuilderCache() {
         //CDI proxy
     }
@@ -106,7 +162,7 @@ public class LRUBuilderCache extends LRUCache<Project, Builder > {
         classFilters.forEach(filter -> classFilterBeans.destroy(filter));
     }
 
-    public synchronized void invalidateProjectCache(@Observes final InvalidateDMOProjectCacheEvent event) {
+    public void invalidateProjectCache(@Observes final InvalidateDMOProjectCacheEvent event) {
         PortablePreconditions.checkNotNull("event",
                                            event);
         final Project project = event.getProject();
@@ -117,45 +173,322 @@ public class LRUBuilderCache extends LRUCache<Project, Builder > {
         }
     }
 
-    public synchronized Builder assertBuilder(POM pom)
+    /**
+     * Returns the cached Builder of a Project with the POM's GAV. When several cached Projects share the GAV, the
+     * Builder of the Project whose POM equals the given one is preferred, then the most recently used one.
+     */
+    public Builder assertBuilder(final POM pom)
             throws NoBuilderFoundException {
-        for (Project project : getKeys()) {
-            if (project.getPom().getGav().equals(pom.getGav())) {
-                return makeBuilder(project);
+        final GAV gav = pom.getGav();
+        final Set<Project> projects = gav == null ? null : projectsByGAV.get(gav);
+        if (projects != null) {
+            CacheEntry match = null;
+            boolean matchHasSamePom = false;
+            for (Project project : projects) {
+                final CacheEntry entry = entries.get(project);
+                if (entry == null) {
+                    //The Builder has been evicted or invalidated since the Project was indexed
+                    unindex(project);
+                    continue;
+                }
+                final boolean hasSamePom = pom.equals(project.getPom());
+                if (match == null
+                        || (hasSamePom && !matchHasSamePom)
+                        || (hasSamePom == matchHasSamePom && entry.lastAccess > match.lastAccess)) {
+                    match = entry;
+                    matchHasSamePom = hasSamePom;
+                }
+            }
+            if (match != null) {
+                hitCount.increment();
+                return match.touch().getBuilder();
             }
         }
         throw new NoBuilderFoundException();
     }
 
-    public synchronized Builder assertBuilder(final Project project) {
-        return makeBuilder(project);
+    public Builder assertBuilder(final Project project) {
+        PortablePreconditions.checkNotNull("project",
+                                           project);
+        final CacheEntry entry = entries.get(project);
+        if (entry != null) {
+            hitCount.increment();
+            return entry.touch().getBuilder();
+        }
+        return loadBuilder(project);
     }
 
-    public synchronized Builder getBuilder(final Project project) {
-        return getEntry(project);
+    public Builder getBuilder(final Project project) {
+        final CacheEntry entry = entries.get(project);
+        if (entry == null) {
+            return null;
+        }
+        return entry.touch().getBuilder();
     }
 
-    private Builder makeBuilder(Project project) {
-        Builder builder = getEntry(project);
-        if (builder == null) {
-            builder = new Builder(project,
-                                  ioService,
-                                  projectService,
-                                  importsService,
-                                  buildValidationHelpers,
-                                  dependenciesClassLoaderCache,
-                                  pomModelCache,
-                                  packageNameWhiteListService,
-                                  createSingleClassFilterPredicate());
+    public void invalidateCache(final Project project) {
+        final CacheEntry entry = entries.remove(project);
+        if (entry != null) {
+            unindex(project);
+            entry.remove();
+        }
+    }
 
-            setEntry(project,
-                     builder);
+    public void invalidateCache() {
+        for (Project project : entries.keySet()) {
+            invalidateCache(project);
         }
+    }
+
+    public Set<Project> getKeys() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getWeight() {
+        return totalWeight.sum();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public long getLoadCount() {
+        return loadCount.sum();
+    }
+
+    /**
+     * Total time spent constructing Builders, in milliseconds.
+     */
+    public long getTotalLoadTime() {
+        return TimeUnit.NANOSECONDS.toMillis(totalLoadTime.sum());
+    }
+
+    void setMaxEntries(final int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    void setMaxWeight(final long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    Builder makeBuilder(final Project project) {
+        return new Builder(project,
+                           ioService,
+                           projectService,
+                           importsService,
+                           buildValidationHelpers,
+                           dependenciesClassLoaderCache,
+                           pomModelCache,
+                           packageNameWhiteListService,
+                           createSingleClassFilterPredicate());
+    }
+
+    int weigh(final Builder builder) {
+        final KieFileSystem kieFileSystem = builder.getKieFileSystem();
+        if (kieFileSystem instanceof KieFileSystemImpl) {
+            return Math.max(1,
+                            ((KieFileSystemImpl) kieFileSystem).getMfs().getFileNames().size());
+        }
+        return 1;
+    }
+
+    private Builder loadBuilder(final Project project) {
+        final CacheEntry entry = new CacheEntry();
+        final CacheEntry existing = entries.putIfAbsent(project,
+                                                        entry);
+        if (existing != null) {
+            //Another thread is already loading the Builder for this Project
+            hitCount.increment();
+            return existing.touch().getBuilder();
+        }
+
+        missCount.increment();
+        final long start = System.nanoTime();
+        final Builder builder;
+        try {
+            builder = makeBuilder(project);
+            entry.setWeight(weigh(builder));
+            //The Builder's weight grows once it keeps a clone for validation
+            builder.setValidationOverlayWeightListener(change -> {
+                if (entry.addOverlayWeight(change) && change > 0) {
+                    evictIfNecessary();
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            if (entries.remove(project,
+                               entry)) {
+                entry.remove();
+            }
+            entry.future.completeExceptionally(e);
+            throw e;
+        }
+        final long elapsed = System.nanoTime() - start;
+        loadCount.increment();
+        totalLoadTime.add(elapsed);
+        entry.future.complete(builder);
+
+        index(project);
+
+        logger.debug("Builder for project '{}' loaded in {} ms ({} resources).",
+                     project.getProjectName(),
+                     TimeUnit.NANOSECONDS.toMillis(elapsed),
+                     entry.getWeight());
+
+        evictIfNecessary();
+
         return builder;
     }
 
+    private void evictIfNecessary() {
+        synchronized (evictionLock) {
+            while (entries.size() > maxEntries || totalWeight.sum() > maxWeight) {
+                final Map.Entry<Project, CacheEntry> eldest = findEldestLoadedEntry();
+                if (eldest == null) {
+                    return;
+                }
+                if (entries.remove(eldest.getKey(),
+                                   eldest.getValue())) {
+                    unindex(eldest.getKey());
+                    eldest.getValue().remove();
+                    evictionCount.increment();
+                }
+            }
+        }
+    }
+
+    private void index(final Project project) {
+        final GAV gav = getGAV(project);
+        if (gav != null) {
+            projectsByGAV.compute(gav,
+                                  (g, projects) -> {
+                                      final Set<Project> result = projects == null ? ConcurrentHashMap.newKeySet() : projects;
+                                      result.add(project);
+                                      return result;
+                                  });
+        }
+    }
+
+    private void unindex(final Project project) {
+        final GAV gav = getGAV(project);
+        if (gav != null) {
+            projectsByGAV.computeIfPresent(gav,
+                                           (g, projects) -> {
+                                               projects.remove(project);
+                                               return projects.isEmpty() ? null : projects;
+                                           });
+        }
+    }
+
+    private static GAV getGAV(final Project project) {
+        return project.getPom() == null ? null : project.getPom().getGav();
+    }
+
+    private Map.Entry<Project, CacheEntry> findEldestLoadedEntry() {
+        Map.Entry<Project, CacheEntry> eldest = null;
+        for (Map.Entry<Project, CacheEntry> e : entries.entrySet()) {
+            //Builders still being loaded cannot be evicted
+            if (!e.getValue().future.isDone()) {
+                continue;
+            }
+            if (eldest == null || e.getValue().lastAccess < eldest.getValue().lastAccess) {
+                eldest = e;
+            }
+        }
+        return eldest;
+    }
+
     private Predicate<String> createSingleClassFilterPredicate() {
         return classFilters.stream().reduce(o -> true,
                                             (p1, p2) -> p1.and(p2));
     }
+
+    private class CacheEntry {
+
+        private final CompletableFuture<Builder> future = new CompletableFuture<>();
+
+        private volatile long lastAccess = System.nanoTime();
+
+        //The following are guarded by this CacheEntry and included in totalWeight until the entry is removed
+        private long weight;
+
+        private long overlayWeight;
+
+        private boolean removed;
+
+        private CacheEntry touch() {
+            lastAccess = System.nanoTime();
+            return this;
+        }
+
+        private synchronized long getWeight() {
+            return weight + overlayWeight;
+        }
+
+        private synchronized void setWeight(final long weight) {
+            if (!removed) {
+                totalWeight.add(weight - this.weight);
+                this.weight = weight;
+            }
+        }
+
+        private synchronized boolean addOverlayWeight(final long change) {
+            if (removed) {
+                return false;
+            }
+            overlayWeight += change;
+            totalWeight.add(change);
+            return true;
+        }
+
+        /**
+         * Subtracts the entry's weight from the total and releases the Builder's clone; called once the entry has
+         * been removed from the cache.
+         */
+        private void remove() {
+            synchronized (this) {
+                if (removed) {
+                    return;
+                }
+                removed = true;
+                totalWeight.add(-(weight + overlayWeight));
+            }
+            final Builder builder = getLoadedBuilder();
+            if (builder != null) {
+                builder.releaseValidationOverlay();
+            }
+        }
+
+        private Builder getLoadedBuilder() {
+            if (!future.isDone() || future.isCompletedExceptionally()) {
+                return null;
+            }
+            return future.getNow(null);
+        }
+
+        private Builder getBuilder() {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw e;
+            }
+        }
+    }
 }
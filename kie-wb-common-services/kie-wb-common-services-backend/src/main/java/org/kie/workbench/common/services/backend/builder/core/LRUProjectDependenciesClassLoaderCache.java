@@ -16,23 +16,64 @@
 
 package org.kie.workbench.common.services.backend.builder.core;
 
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.net.URISyntaxException;
+import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
 
-import org.guvnor.common.services.backend.cache.LRUCache;
 import org.kie.api.builder.KieModule;
 import org.kie.scanner.KieModuleMetaData;
 import org.kie.workbench.common.services.backend.builder.service.BuildInfoService;
 import org.kie.workbench.common.services.shared.project.KieProject;
 
+/**
+ * LRU cache of the ClassLoaders holding the dependencies of Projects.
+ * <p>
+ * Projects that resolve to the same set of dependency jars (e.g. branches of the same repository) share one
+ * ClassLoader, so that the classes of their dependencies are loaded once rather than once per Project. A shared
+ * ClassLoader is reference counted by the Projects using it, and released when the last of them is evicted or given
+ * another ClassLoader. The jars' size and modification time form part of the dependency set, so that re-deployed
+ * SNAPSHOTs are not served from a ClassLoader loaded before they changed.
+ */
 @ApplicationScoped
 @Named("LRUProjectDependenciesClassLoaderCache")
-public class LRUProjectDependenciesClassLoaderCache extends LRUCache<KieProject, ClassLoader> {
+public class LRUProjectDependenciesClassLoaderCache {
+
+    static final int MAX_ENTRIES = 20;
 
     private BuildInfoService buildInfoService;
 
+    private final Map<KieProject, SharedClassLoader> entries = new LinkedHashMap<KieProject, SharedClassLoader>(MAX_ENTRIES + 1,
+                                                                                                              0.75f,
+                                                                                                              true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<KieProject, SharedClassLoader> eldest) {
+            if (size() > MAX_ENTRIES) {
+                release(eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private final Map<DependencySet, SharedClassLoader> classLoaders = new HashMap<>();
+
+    private final LongAdder createdCount = new LongAdder();
+
+    private final LongAdder sharedCount = new LongAdder();
+
     public LRUProjectDependenciesClassLoaderCache( ) {
     }
 
@@ -46,19 +87,100 @@ public class LRUProjectDependenciesClassLoaderCache extends LRUCache<KieProject,
     }
 
     public synchronized ClassLoader assertDependenciesClassLoader(final KieProject project) {
-        ClassLoader classLoader = getEntry(project);
-        if (classLoader == null) {
-            classLoader = buildClassLoader(project);
-            setEntry(project,
-                     classLoader);
+        SharedClassLoader entry = entries.get(project);
+        if (entry == null) {
+            setDependenciesClassLoader(project,
+                                       buildClassLoader(project));
+            entry = entries.get(project);
         }
-        return classLoader;
+        return entry.classLoader;
     }
 
+    /**
+     * Sets the dependencies ClassLoader of a Project. If another Project has the same dependencies their ClassLoader
+     * is shared in preference to the one given.
+     */
     public synchronized void setDependenciesClassLoader(final KieProject project,
                                                         ClassLoader classLoader) {
-        setEntry(project,
-                 classLoader);
+        final DependencySet dependencySet = DependencySet.of(classLoader);
+        SharedClassLoader shared = classLoaders.get(dependencySet);
+        if (shared == null) {
+            shared = new SharedClassLoader(dependencySet,
+                                           classLoader);
+            classLoaders.put(dependencySet,
+                             shared);
+            createdCount.increment();
+        } else if (shared.classLoader != classLoader) {
+            sharedCount.increment();
+        }
+        shared.references++;
+
+        final SharedClassLoader previous = entries.put(project,
+                                                       shared);
+        if (previous != null) {
+            release(previous);
+        }
+    }
+
+    public synchronized void invalidateCache(final KieProject project) {
+        final SharedClassLoader previous = entries.remove(project);
+        if (previous != null) {
+            release(previous);
+        }
+    }
+
+    public synchronized void invalidateCache() {
+        entries.clear();
+        classLoaders.clear();
+    }
+
+    private void release(final SharedClassLoader shared) {
+        if (--shared.references == 0) {
+            classLoaders.remove(shared.dependencySet);
+        }
+    }
+
+    /**
+     * Number of Projects with a dependencies ClassLoader.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Number of distinct dependencies ClassLoaders held; less than {@link #size()} when Projects share them.
+     */
+    public synchronized int getClassLoaderCount() {
+        return classLoaders.size();
+    }
+
+    /**
+     * Number of dependencies ClassLoaders created since startup.
+     */
+    public long getCreatedCount() {
+        return createdCount.sum();
+    }
+
+    /**
+     * Number of times a Project was given the dependencies ClassLoader of another Project, rather than its own; each
+     * one is a set of dependency classes that need not be loaded into metaspace again.
+     */
+    public long getSharedCount() {
+        return sharedCount.sum();
+    }
+
+    /**
+     * Current usage of the JVM's metaspace (or permanent generation), in bytes, or -1 if it is not reported.
+     */
+    public long getMetaspaceUsed() {
+        long used = -1;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getName().contains("Metaspace") || pool.getName().contains("Perm Gen")) {
+                used = Math.max(used,
+                                0) + pool.getUsage().getUsed();
+            }
+        }
+        return used;
     }
 
     private ClassLoader buildClassLoader(final KieProject project) {
@@ -91,4 +213,92 @@ public class LRUProjectDependenciesClassLoaderCache extends LRUCache<KieProject,
                                                + project.getKModuleXMLPath());
         }
     }
-}
\ No newline at end of file
+
+    private static class SharedClassLoader {
+
+        private final DependencySet dependencySet;
+
+        private final ClassLoader classLoader;
+
+        private int references;
+
+        private SharedClassLoader(final DependencySet dependencySet,
+                                  final ClassLoader classLoader) {
+            this.dependencySet = dependencySet;
+            this.classLoader = classLoader;
+        }
+    }
+
+    /**
+     * The jars, and their parent ClassLoader, of a dependencies ClassLoader. ClassLoaders other than URLClassLoaders
+     * are only equal to themselves.
+     */
+    static final class DependencySet {
+
+        private final ClassLoader parent;
+
+        private final List<String> jars;
+
+        private final ClassLoader classLoader;
+
+        private final int hashCode;
+
+        private DependencySet(final ClassLoader parent,
+                              final List<String> jars,
+                              final ClassLoader classLoader) {
+            this.parent = parent;
+            this.jars = jars;
+            this.classLoader = classLoader;
+            this.hashCode = classLoader != null ? System.identityHashCode(classLoader) : 31 * System.identityHashCode(parent) + jars.hashCode();
+        }
+
+        static DependencySet of(final ClassLoader classLoader) {
+            if (!(classLoader instanceof URLClassLoader)) {
+                return new DependencySet(null,
+                                         null,
+                                         classLoader);
+            }
+            final List<String> jars = new ArrayList<>();
+            for (URL url : ((URLClassLoader) classLoader).getURLs()) {
+                jars.add(describe(url));
+            }
+            //The order of the jars matters only for duplicate classes, which a dependency graph resolves consistently
+            Collections.sort(jars);
+            return new DependencySet(classLoader.getParent(),
+                                     jars,
+                                     null);
+        }
+
+        private static String describe(final URL url) {
+            if ("file".equals(url.getProtocol())) {
+                try {
+                    final File file = new File(url.toURI());
+                    return url.toExternalForm() + "@" + file.length() + ":" + file.lastModified();
+                } catch (URISyntaxException | IllegalArgumentException e) {
+                    //Use the URL alone
+                }
+            }
+            return url.toExternalForm();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DependencySet)) {
+                return false;
+            }
+            final DependencySet other = (DependencySet) o;
+            if (classLoader != null || other.classLoader != null) {
+                return classLoader == other.classLoader;
+            }
+            return parent == other.parent && jars.equals(other.jars);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+import org.kie.workbench.common.services.backend.async.ParallelTasks;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.DirectoryStream;
+import org.uberfire.java.nio.file.Files;
+import org.uberfire.java.nio.file.Path;
+
+/**
+ * Loads the content of a Project's resources for a Builder. The Project is walked serially, as listing
+ * directories is cheap, whereas the content of resources is read concurrently with {@link ParallelTasks}.
+ * Resources are read in batches of {@link #BATCH_SIZE}, each handed over before the next is read, so that
+ * only one batch of content is held at a time.
+ */
+class ProjectSourceLoader {
+
+    static final int BATCH_SIZE = 64;
+
+    private final IOService ioService;
+    private final DirectoryStream.Filter<Path> excludeFilter;
+
+    ProjectSourceLoader( final IOService ioService,
+                         final DirectoryStream.Filter<Path> excludeFilter ) {
+        this.ioService = ioService;
+        this.excludeFilter = excludeFilter;
+    }
+
+    /**
+     * @param root The root of the Project
+     * @param consumer Receives the content of all resources beneath the root, in the order in which they were
+     * visited
+     */
+    void load( final Path root,
+               final BiConsumer<Path, byte[]> consumer ) {
+        final List<Path> resources = new ArrayList<Path>();
+        visitPaths( Files.newDirectoryStream( root ),
+                    resources );
+        read( resources,
+              consumer );
+    }
+
+    void read( final List<Path> resources,
+               final BiConsumer<Path, byte[]> consumer ) {
+        for ( int i = 0; i < resources.size(); i += BATCH_SIZE ) {
+            readBatch( resources.subList( i,
+                                          Math.min( i + BATCH_SIZE,
+                                                    resources.size() ) ),
+                       consumer );
+        }
+    }
+
+    private void readBatch( final List<Path> resources,
+                            final BiConsumer<Path, byte[]> consumer ) {
+        final List<Callable<byte[]>> tasks = new ArrayList<Callable<byte[]>>( resources.size() );
+        for ( final Path resource : resources ) {
+            tasks.add( () -> ioService.readAllBytes( resource ) );
+        }
+
+        final List<Future<byte[]>> futures = ParallelTasks.invokeAll( tasks );
+        for ( int i = 0; i < futures.size(); i++ ) {
+            final byte[] content;
+            try {
+                content = futures.get( i ).get();
+            } catch ( InterruptedException ie ) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException( ie );
+            } catch ( ExecutionException ee ) {
+                final Throwable cause = ee.getCause();
+                if ( cause instanceof RuntimeException ) {
+                    throw (RuntimeException) cause;
+                } else if ( cause instanceof Error ) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException( cause );
+            }
+            consumer.accept( resources.get( i ),
+                             content );
+        }
+    }
+
+    private void visitPaths( final DirectoryStream<Path> directoryStream,
+                             final List<Path> resources ) {
+        for ( final Path path : directoryStream ) {
+            if ( Files.isDirectory( path ) ) {
+                visitPaths( Files.newDirectoryStream( path ),
+                            resources );
+
+            } else if ( !excludeFilter.accept( path ) ) {
+                resources.add( path );
+            }
+        }
+    }
+
+}
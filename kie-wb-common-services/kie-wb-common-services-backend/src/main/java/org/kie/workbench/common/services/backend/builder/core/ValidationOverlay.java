@@ -0,0 +1,232 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+
+import org.drools.compiler.kie.builder.impl.KieFileSystemImpl;
+import org.guvnor.common.services.project.builder.model.IncrementalBuildResults;
+import org.kie.api.builder.KieFileSystem;
+import org.uberfire.java.nio.file.Path;
+
+/**
+ * Validates resources against a Builder without modifying it.
+ * <p>
+ * Rather than cloning the Builder for every validation, a single clone is kept over which the resource being
+ * validated is layered. The clone is only re-created when the Builder has a full build; after incremental builds
+ * just the resources that changed are copied to it. The resource is only restored to the Builder's content when a
+ * different resource is validated, as editors usually validate the same resource repeatedly. Validations of the
+ * same Builder are serialized on the clone.
+ * <p>
+ * The clone roughly doubles the memory held for the Builder, so {@link LRUBuilderCache} includes its
+ * {@link #getWeight() weight} in the Builder's and {@link #release() releases} it when the Builder is evicted. Changes
+ * to the weight are reported to a {@link #setWeightListener(LongConsumer) listener} once the clone is no longer in use.
+ */
+class ValidationOverlay {
+
+    private static final LongAdder validations = new LongAdder();
+    private static final LongAdder clones = new LongAdder();
+    private static final LongAdder clonedResources = new LongAdder();
+
+    private final Builder builder;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    //The following are guarded by lock
+    private Builder overlay;
+    private long overlayFullBuildCount;
+    private Object overlaySnapshot;
+    private Path overlaidResource;
+
+    private volatile long weight;
+    private volatile boolean released;
+
+    //Change in weight not yet reported to the listener
+    private final AtomicLong unreportedWeight = new AtomicLong();
+    private volatile LongConsumer weightListener = ( change ) -> {
+    };
+
+    ValidationOverlay( final Builder builder ) {
+        this.builder = builder;
+    }
+
+    IncrementalBuildResults validate( final Path resource,
+                                      final InputStream inputStream ) {
+        validations.increment();
+
+        if ( released ) {
+            //Don't keep a clone for a Builder no longer cached
+            return validate( newClone(),
+                             resource,
+                             inputStream );
+        }
+
+        lock.lock();
+        try {
+            final long fullBuildCount = builder.getFullBuildCount();
+            final Object snapshot = builder.getBuildSnapshot();
+            if ( overlay == null || overlayFullBuildCount != fullBuildCount ) {
+                overlay = newClone();
+                overlayFullBuildCount = fullBuildCount;
+                overlaySnapshot = snapshot;
+                overlaidResource = null;
+
+            } else if ( overlaySnapshot != snapshot ) {
+                //Copies the resources changed by incremental builds, which includes restoring the overlaid resource
+                overlay.synchronizeWith( builder );
+                overlaySnapshot = snapshot;
+                overlaidResource = null;
+
+            } else if ( overlaidResource != null && !overlaidResource.equals( resource ) ) {
+                restore( overlaidResource );
+            }
+            setWeight( countResources( overlay.getKieFileSystem() ) );
+
+            overlaidResource = resource;
+            return validate( overlay,
+                             resource,
+                             inputStream );
+
+        } catch ( RuntimeException | Error e ) {
+            //The state of the overlay is unknown
+            clear();
+            throw e;
+
+        } finally {
+            if ( released ) {
+                clear();
+            }
+            lock.unlock();
+            reportWeight();
+        }
+    }
+
+    /**
+     * @return The number of resources held by the clone, or 0 if there is none
+     */
+    long getWeight() {
+        return weight;
+    }
+
+    /**
+     * @param weightListener Notified of the change in {@link #getWeight() weight} whenever it changes
+     */
+    void setWeightListener( final LongConsumer weightListener ) {
+        this.weightListener = weightListener;
+    }
+
+    /**
+     * Discard the clone, as the Builder is no longer cached. Validations in progress discard it when they complete.
+     */
+    void release() {
+        released = true;
+        if ( lock.tryLock() ) {
+            try {
+                clear();
+            } finally {
+                lock.unlock();
+            }
+            reportWeight();
+        }
+    }
+
+    //Guarded by lock
+    private void clear() {
+        overlay = null;
+        overlayFullBuildCount = 0;
+        overlaySnapshot = null;
+        overlaidResource = null;
+        setWeight( 0 );
+    }
+
+    //Guarded by lock
+    private void setWeight( final long weight ) {
+        unreportedWeight.addAndGet( weight - this.weight );
+        this.weight = weight;
+    }
+
+    //Called without holding lock, as the listener may release the clone
+    private void reportWeight() {
+        final long change = unreportedWeight.getAndSet( 0 );
+        if ( change != 0 ) {
+            weightListener.accept( change );
+        }
+    }
+
+    private IncrementalBuildResults validate( final Builder builder,
+                                              final Path resource,
+                                              final InputStream inputStream ) {
+        //First delete resource otherwise if the resource already had errors following builder.build()
+        //the incremental compilation will not report any additional errors and the resource will be
+        //considered valid.
+        builder.deleteResource( resource );
+
+        return builder.updateResource( resource,
+                                       inputStream );
+    }
+
+    private void restore( final Path resource ) {
+        final byte[] content = builder.readResource( resource );
+        if ( content == null ) {
+            overlay.deleteResource( resource );
+        } else {
+            overlay.updateResource( resource,
+                                    new ByteArrayInputStream( content ) );
+        }
+    }
+
+    private Builder newClone() {
+        final Builder clone = builder.clone();
+        clones.increment();
+        clonedResources.add( countResources( clone.getKieFileSystem() ) );
+        return clone;
+    }
+
+    private static long countResources( final KieFileSystem kieFileSystem ) {
+        if ( kieFileSystem instanceof KieFileSystemImpl ) {
+            return ( (KieFileSystemImpl) kieFileSystem ).getMfs().getFileNames().size();
+        }
+        return 0;
+    }
+
+    /**
+     * @return The number of resources validated
+     */
+    static long getValidationCount() {
+        return validations.sum();
+    }
+
+    /**
+     * @return The number of Builders cloned for validation
+     */
+    static long getCloneCount() {
+        return clones.sum();
+    }
+
+    /**
+     * @return The number of resources copied when cloning Builders for validation
+     */
+    static long getClonedResourceCount() {
+        return clonedResources.sum();
+    }
+
+}
@@ -45,6 +45,8 @@ public class BuildServiceImpl implements BuildService {
 
     private LRUBuilderCache cache;
 
+    private IncrementalBuildQueue incrementalBuildQueue;
+
     public BuildServiceImpl( ) {
         //Empty constructor for Weld
     }
@@ -56,16 +58,21 @@ public class BuildServiceImpl implements BuildService {
         this.projectService = projectService;
         this.buildServiceHelper = buildServiceHelper;
         this.cache = cache;
+        this.incrementalBuildQueue = new IncrementalBuildQueue( buildServiceHelper );
     }
 
     @Override
     public BuildResults build( final Project project ) {
-        return buildServiceHelper.localBuild( project );
+        return incrementalBuildQueue.interactive( project,
+                                                  ( ) -> buildServiceHelper.localBuild( project ) );
     }
 
     public void build( final Project project, final Consumer< Builder > consumer ) {
-        buildServiceHelper.localBuild( project, localBinaryConfig ->
-                consumer.accept( localBinaryConfig.getBuilder( ) ) );
+        incrementalBuildQueue.interactive( project, ( ) -> {
+            buildServiceHelper.localBuild( project, localBinaryConfig ->
+                    consumer.accept( localBinaryConfig.getBuilder( ) ) );
+            return null;
+        } );
     }
 
     @Override
@@ -90,7 +97,8 @@ public class BuildServiceImpl implements BuildService {
     public BuildResults buildAndDeploy( final Project project,
                                         final boolean suppressHandlers,
                                         final DeploymentMode mode ) {
-        return buildServiceHelper.localBuildAndDeploy( project, mode, suppressHandlers );
+        return incrementalBuildQueue.interactive( project,
+                                                  ( ) -> buildServiceHelper.localBuildAndDeploy( project, mode, suppressHandlers ) );
     }
 
     @Override
@@ -119,7 +127,8 @@ public class BuildServiceImpl implements BuildService {
         if ( project == null ) {
             return new IncrementalBuildResults( );
         }
-        return buildServiceHelper.localBuild( project, buildType, resource );
+        //Changes to the resources of a Project are coalesced into batches
+        return incrementalBuildQueue.submit( project, resource, buildType );
     }
 
     @Override
@@ -131,4 +140,8 @@ public class BuildServiceImpl implements BuildService {
         return buildServiceHelper.localBuild( project, changes );
     }
 
+    public IncrementalBuildQueue getIncrementalBuildQueue( ) {
+        return incrementalBuildQueue;
+    }
+
 }
\ No newline at end of file
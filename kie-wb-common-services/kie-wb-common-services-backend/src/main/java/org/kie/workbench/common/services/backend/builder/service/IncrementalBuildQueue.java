@@ -0,0 +1,377 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.guvnor.common.services.project.builder.model.IncrementalBuildResults;
+import org.guvnor.common.services.project.model.Project;
+import org.kie.workbench.common.services.backend.builder.ala.LocalBuildConfig;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.workbench.events.ResourceAdded;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceDeleted;
+import org.uberfire.workbench.events.ResourceUpdated;
+
+/**
+ * Per Project queue of incremental builds. Resource changes submitted while a Project's previous batch is waiting
+ * or building are coalesced into a single batch, built with one call to
+ * {@link BuildServiceHelper#localBuild(Project, Map)}; e.g. the 200 resource events of a bulk import result in a
+ * handful of incremental builds rather than 200. The first caller to submit a change to a batch builds the batch and
+ * receives its results; the other callers wait for the batch to be built and receive empty results, as their changes
+ * are reported by the first caller's. A change submitted while the Project's queue is idle is built straight away;
+ * the first caller only waits the coalescing window when a build of the Project is already running, as further
+ * changes are then likely to follow.
+ * <p>
+ * Interactive (user triggered) builds take priority: a batch is deferred, for up to {@link #MAX_DEFERRAL_FACTOR}
+ * coalescing windows, while an interactive build of the same Project is running.
+ * <p>
+ * A Project's queue is only held while it has callers, so Projects that are no longer built are not retained.
+ */
+public class IncrementalBuildQueue {
+
+    public static final String COALESCING_WINDOW_PROPERTY = "org.kie.workbench.builder.incremental.coalescingWindow";
+
+    /**
+     * Default coalescing window, in milliseconds.
+     */
+    static final long DEFAULT_COALESCING_WINDOW = 50;
+
+    static final int MAX_DEFERRAL_FACTOR = 20;
+
+    private final BuildServiceHelper buildServiceHelper;
+
+    private final ConcurrentMap<Project, ProjectQueue> queues = new ConcurrentHashMap<>();
+
+    private final LongAdder queueDepth = new LongAdder();
+
+    private final LongAdder changeCount = new LongAdder();
+
+    private final LongAdder buildCount = new LongAdder();
+
+    private final LongAdder totalLatency = new LongAdder();
+
+    private final LongAdder totalBuildTime = new LongAdder();
+
+    private volatile long coalescingWindow = TimeUnit.MILLISECONDS.toNanos(Long.getLong(COALESCING_WINDOW_PROPERTY,
+                                                                                        DEFAULT_COALESCING_WINDOW));
+
+    public IncrementalBuildQueue(final BuildServiceHelper buildServiceHelper) {
+        this.buildServiceHelper = buildServiceHelper;
+    }
+
+    /**
+     * Submits a change to a resource of a Project, and waits until it has been built.
+     * @param project The Project containing the resource
+     * @param resource The resource
+     * @param buildType One of the INCREMENTAL_*_RESOURCE build types
+     * @return The results of the batch if the change started the batch, otherwise empty results.
+     */
+    public IncrementalBuildResults submit(final Project project,
+                                          final Path resource,
+                                          final LocalBuildConfig.BuildType buildType) {
+        final long submitted = System.nanoTime();
+        final ProjectQueue queue = acquireQueue(project);
+        try {
+            final Batch batch;
+            final boolean first;
+            synchronized (queue) {
+                first = queue.pending == null;
+                if (first) {
+                    //Changes are only worth coalescing when the Project is already being built
+                    queue.pending = new Batch(submitted,
+                                              queue.buildLock.isLocked() || queue.interactiveBuilds > 0);
+                }
+                batch = queue.pending;
+                batch.add(resource,
+                          buildType);
+                queueDepth.increment();
+                changeCount.increment();
+            }
+
+            if (!first) {
+                return batch.await();
+            }
+            return build(project,
+                         queue,
+                         batch);
+        } finally {
+            releaseQueue(project,
+                         queue);
+        }
+    }
+
+    /**
+     * Runs an interactive build of a Project. Incremental builds of the Project are deferred while it runs.
+     */
+    public <T> T interactive(final Project project,
+                             final Supplier<T> build) {
+        final ProjectQueue queue = acquireQueue(project);
+        synchronized (queue) {
+            queue.interactiveBuilds++;
+        }
+        try {
+            return build.get();
+        } finally {
+            synchronized (queue) {
+                queue.interactiveBuilds--;
+                queue.notifyAll();
+            }
+            releaseQueue(project,
+                         queue);
+        }
+    }
+
+    private IncrementalBuildResults build(final Project project,
+                                          final ProjectQueue queue,
+                                          final Batch batch) {
+        boolean interrupted = false;
+        try {
+            interrupted = awaitWindow(queue,
+                                      batch);
+
+            //Batches of a Project are built one at a time, so changes submitted meanwhile join the next batch
+            queue.buildLock.lock();
+            try {
+                synchronized (queue) {
+                    queue.pending = null;
+                }
+                queueDepth.add(-batch.size());
+
+                final long started = System.nanoTime();
+                try {
+                    final IncrementalBuildResults results = batch.build(project);
+                    batch.results.complete(new IncrementalBuildResults());
+                    return results;
+                } catch (RuntimeException | Error e) {
+                    //The other callers of the batch must not be left waiting, whatever the failure
+                    batch.results.completeExceptionally(e);
+                    throw e;
+                } finally {
+                    final long finished = System.nanoTime();
+                    buildCount.increment();
+                    totalBuildTime.add(finished - started);
+                    totalLatency.add(finished - batch.created);
+                }
+            } finally {
+                queue.buildLock.unlock();
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    //Waits for the coalescing window to pass, and for any interactive build of the Project to finish
+    private boolean awaitWindow(final ProjectQueue queue,
+                                final Batch batch) {
+        synchronized (queue) {
+            while (true) {
+                final long window = batch.coalesce ? coalescingWindow : 0;
+                final long windowEnd = batch.created + window;
+                final long deferralEnd = batch.created + window * MAX_DEFERRAL_FACTOR;
+                final long now = System.nanoTime();
+                final long waitUntil;
+                if (now - windowEnd < 0) {
+                    waitUntil = windowEnd;
+                } else if (queue.interactiveBuilds > 0 && now - deferralEnd < 0) {
+                    waitUntil = deferralEnd;
+                } else {
+                    return false;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(queue,
+                                                   waitUntil - now);
+                } catch (InterruptedException e) {
+                    //Build the batch now; the changes of other callers depend upon it
+                    return true;
+                }
+            }
+        }
+    }
+
+    //Registers the caller with the Project's queue, so that it is not removed while in use
+    private ProjectQueue acquireQueue(final Project project) {
+        while (true) {
+            final ProjectQueue queue = queues.computeIfAbsent(project,
+                                                              p -> new ProjectQueue());
+            synchronized (queue) {
+                if (!queue.removed) {
+                    queue.users++;
+                    return queue;
+                }
+            }
+            //The queue drained and was removed meanwhile; a new one is created
+        }
+    }
+
+    private void releaseQueue(final Project project,
+                              final ProjectQueue queue) {
+        synchronized (queue) {
+            queue.users--;
+            if (queue.users == 0) {
+                queue.removed = true;
+                queues.remove(project,
+                              queue);
+            }
+        }
+    }
+
+    int getQueueCount() {
+        return queues.size();
+    }
+
+    /**
+     * Number of resource changes waiting to be built.
+     */
+    public long getQueueDepth() {
+        return queueDepth.sum();
+    }
+
+    public long getChangeCount() {
+        return changeCount.sum();
+    }
+
+    /**
+     * Number of incremental builds performed; the number of changes coalesced is {@link #getChangeCount()} less this.
+     */
+    public long getBuildCount() {
+        return buildCount.sum();
+    }
+
+    /**
+     * Total time from the first change of each batch being submitted until the batch was built, in milliseconds.
+     */
+    public long getTotalLatency() {
+        return TimeUnit.NANOSECONDS.toMillis(totalLatency.sum());
+    }
+
+    /**
+     * Total time spent building batches, in milliseconds.
+     */
+    public long getTotalBuildTime() {
+        return TimeUnit.NANOSECONDS.toMillis(totalBuildTime.sum());
+    }
+
+    void setCoalescingWindow(final long coalescingWindow,
+                             final TimeUnit unit) {
+        this.coalescingWindow = unit.toNanos(coalescingWindow);
+    }
+
+    private static class ProjectQueue {
+
+        private final ReentrantLock buildLock = new ReentrantLock(true);
+
+        private Batch pending;
+
+        private int interactiveBuilds;
+
+        private int users;
+
+        private boolean removed;
+    }
+
+    private class Batch {
+
+        private final long created;
+
+        //Whether the batch waits the coalescing window, rather than being built straight away
+        private final boolean coalesce;
+
+        private final Map<Path, Collection<ResourceChange>> changes = new LinkedHashMap<>();
+
+        private final CompletableFuture<IncrementalBuildResults> results = new CompletableFuture<>();
+
+        private Path firstResource;
+
+        private LocalBuildConfig.BuildType firstBuildType;
+
+        private int size;
+
+        private Batch(final long created,
+                      final boolean coalesce) {
+            this.created = created;
+            this.coalesce = coalesce;
+        }
+
+        private void add(final Path resource,
+                         final LocalBuildConfig.BuildType buildType) {
+            if (size == 0) {
+                firstResource = resource;
+                firstBuildType = buildType;
+            }
+            changes.computeIfAbsent(resource,
+                                    path -> new ArrayList<>()).add(toResourceChange(buildType));
+            size++;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private IncrementalBuildResults build(final Project project) {
+            //A single change is built as before batching was introduced
+            if (size == 1) {
+                return buildServiceHelper.localBuild(project,
+                                                     firstBuildType,
+                                                     firstResource);
+            }
+            return buildServiceHelper.localBuild(project,
+                                                 changes);
+        }
+
+        private IncrementalBuildResults await() {
+            try {
+                return results.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new IncrementalBuildResults();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw new RuntimeException(e.getCause());
+            }
+        }
+    }
+
+    private static ResourceChange toResourceChange(final LocalBuildConfig.BuildType buildType) {
+        switch (buildType) {
+            case INCREMENTAL_ADD_RESOURCE:
+                return new ResourceAdded("");
+            case INCREMENTAL_DELETE_RESOURCE:
+                return new ResourceDeleted("");
+            default:
+                return new ResourceUpdated("");
+        }
+    }
+}
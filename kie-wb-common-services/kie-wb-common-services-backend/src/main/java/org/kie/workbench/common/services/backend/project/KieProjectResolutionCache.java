@@ -0,0 +1,165 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.project;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.guvnor.common.services.backend.exceptions.ExceptionUtilities;
+import org.guvnor.common.services.builder.ObservablePOMFile;
+import org.guvnor.common.services.project.backend.server.utils.POMContentHandler;
+import org.guvnor.common.services.project.builder.events.InvalidateDMOProjectCacheEvent;
+import org.guvnor.common.services.project.events.DeleteProjectEvent;
+import org.guvnor.common.services.project.model.POM;
+import org.kie.workbench.common.services.backend.builder.core.ObservableKModuleFile;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+/**
+ * Cache of Project roots resolved by {@link KieResourceResolver}. For each file system (i.e. repository and branch)
+ * it holds the Project root of every directory that has been resolved, so resolving a resource becomes a lookup of
+ * its directory, together with the {@link POM} parsed for each Project root. A file system's entries are discarded whenever
+ * a pom.xml or kmodule.xml within it is added, updated, renamed or deleted, or one of its Projects is deleted.
+ * <p>
+ * Directories that do not resolve to a Project are not cached, since a Project can be created around them.
+ */
+@ApplicationScoped
+public class KieProjectResolutionCache {
+
+    private final ObservablePOMFile observablePOMFile = new ObservablePOMFile();
+
+    private final ObservableKModuleFile observableKModuleFile = new ObservableKModuleFile();
+
+    private final ConcurrentMap<String, ProjectRoots> fileSystems = new ConcurrentHashMap<>();
+
+    public ProjectRoots getProjectRoots( final org.uberfire.java.nio.file.Path path ) {
+        return fileSystems.computeIfAbsent( getFileSystemKey( path.toUri() ),
+                                            key -> new ProjectRoots() );
+    }
+
+    public void invalidateCache() {
+        fileSystems.clear();
+    }
+
+    public void onResourceAdded( @Observes final ResourceAddedEvent event ) {
+        invalidate( event.getPath() );
+    }
+
+    public void onResourceUpdated( @Observes final ResourceUpdatedEvent event ) {
+        invalidate( event.getPath() );
+    }
+
+    public void onResourceDeleted( @Observes final ResourceDeletedEvent event ) {
+        invalidate( event.getPath() );
+    }
+
+    public void onResourceRenamed( @Observes final ResourceRenamedEvent event ) {
+        invalidate( event.getPath() );
+        invalidate( event.getDestinationPath() );
+    }
+
+    public void onBatchResourceChanges( @Observes final ResourceBatchChangesEvent event ) {
+        for ( final Map.Entry<Path, Collection<ResourceChange>> entry : event.getBatch().entrySet() ) {
+            invalidate( entry.getKey() );
+        }
+    }
+
+    public void onInvalidateDMOProjectCache( @Observes final InvalidateDMOProjectCacheEvent event ) {
+        invalidate( event.getResourcePath() );
+    }
+
+    public void onDeleteProject( @Observes final DeleteProjectEvent event ) {
+        if ( event.getProject() != null && event.getProject().getRootPath() != null ) {
+            fileSystems.remove( getFileSystemKey( URI.create( event.getProject().getRootPath().toURI() ) ) );
+        }
+    }
+
+    private void invalidate( final Path path ) {
+        if ( path == null ) {
+            return;
+        }
+        final String fileName = path.getFileName();
+        if ( fileName == null ) {
+            return;
+        }
+        if ( observablePOMFile.accept( fileName ) || observableKModuleFile.accept( fileName ) ) {
+            fileSystems.remove( getFileSystemKey( URI.create( path.toURI() ) ) );
+        }
+    }
+
+    static String getFileSystemKey( final URI uri ) {
+        return uri.getScheme() + "://" + uri.getRawAuthority();
+    }
+
+    /**
+     * Project roots and POMs resolved within a single file system. Invalidation discards the whole instance, so
+     * resolutions that were in progress at the time store their results in a detached instance and are lost.
+     */
+    public static class ProjectRoots {
+
+        private final ConcurrentMap<String, org.uberfire.java.nio.file.Path> projectRoots = new ConcurrentHashMap<>();
+
+        private final POMContentHandler pomContentHandler = new POMContentHandler();
+
+        private final ConcurrentMap<String, POM> poms = new ConcurrentHashMap<>();
+
+        public org.uberfire.java.nio.file.Path getProjectRoot( final org.uberfire.java.nio.file.Path directory ) {
+            return projectRoots.get( directory.toUri().toString() );
+        }
+
+        public void setProjectRoot( final Collection<org.uberfire.java.nio.file.Path> directories,
+                                    final org.uberfire.java.nio.file.Path projectRoot ) {
+            for ( org.uberfire.java.nio.file.Path directory : directories ) {
+                projectRoots.put( directory.toUri().toString(),
+                                  projectRoot );
+            }
+        }
+
+        /**
+         * The pom.xml is parsed once, until it changes, and the {@link POM} is shared by all the Projects resolved
+         * meanwhile. It is the model of the pom.xml on disk, so it must not be modified; changes to a Project's POM
+         * are saved through the POM service, which invalidates the cache.
+         */
+        public POM getPom( final Path pomXMLPath,
+                           final Supplier<String> contentLoader ) {
+            return poms.computeIfAbsent( pomXMLPath.toURI(),
+                                         key -> toModel( contentLoader.get() ) );
+        }
+
+        private POM toModel( final String content ) {
+            if ( content == null ) {
+                return null;
+            }
+            try {
+                return pomContentHandler.toModel( content );
+            } catch ( Exception e ) {
+                throw ExceptionUtilities.handleException( e );
+            }
+        }
+    }
+}
@@ -16,6 +16,8 @@
 
 package org.kie.workbench.common.services.backend.project;
 
+import java.util.ArrayList;
+import java.util.List;
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -44,6 +46,8 @@ public class KieResourceResolver
 
     private KModuleService kModuleService;
 
+    private KieProjectResolutionCache resolutionCache;
+
     public KieResourceResolver() {
 
     }
@@ -55,7 +59,8 @@ public class KieResourceResolver
                                 final CommentedOptionFactory commentedOptionFactory,
                                 final BackwardCompatibleUtil backward,
                                 final KModuleService kModuleService,
-                                final Instance<ProjectResourcePathResolver> resourcePathResolversInstance ) {
+                                final Instance<ProjectResourcePathResolver> resourcePathResolversInstance,
+                                final KieProjectResolutionCache resolutionCache ) {
         super( ioService,
                pomService,
                configurationService,
@@ -63,6 +68,7 @@ public class KieResourceResolver
                backward,
                resourcePathResolversInstance );
         this.kModuleService = kModuleService;
+        this.resolutionCache = resolutionCache;
     }
 
     @Override
@@ -80,36 +86,68 @@ public class KieResourceResolver
             if ( Files.isRegularFile( path ) ) {
                 path = path.getParent();
             }
-            while ( path.getNameCount() > 0 && !path.getFileName().toString().equals( SOURCE_FILENAME ) ) {
-                if ( hasPom( path ) && hasKModule( path ) ) {
-                    return makeProject( path );
-                }
-                path = path.getParent();
-            }
-            if ( path.getNameCount() == 0 ) {
-                return null;
-            }
-            path = path.getParent();
-            if ( path.getNameCount() == 0 || path == null ) {
-                return null;
-            }
-            if ( !hasPom( path ) ) {
-                return null;
-            }
-            if ( !hasKModule( path ) ) {
+
+            final org.uberfire.java.nio.file.Path projectRoot = resolveProjectRoot( path );
+            if ( projectRoot == null ) {
                 return null;
             }
-            return makeProject( path );
+            return makeProject( projectRoot );
 
         } catch ( Exception e ) {
             throw ExceptionUtilities.handleException( e );
         }
     }
 
+    private org.uberfire.java.nio.file.Path resolveProjectRoot( final org.uberfire.java.nio.file.Path directory ) {
+        final KieProjectResolutionCache.ProjectRoots projectRoots = resolutionCache.getProjectRoots( directory );
+        final org.uberfire.java.nio.file.Path cachedProjectRoot = projectRoots.getProjectRoot( directory );
+        if ( cachedProjectRoot != null ) {
+            return cachedProjectRoot;
+        }
+
+        //Every directory visited while walking up the tree resolves to the same Project root
+        final List<org.uberfire.java.nio.file.Path> visitedDirectories = new ArrayList<>();
+        final org.uberfire.java.nio.file.Path projectRoot = findProjectRoot( directory,
+                                                                            visitedDirectories );
+        if ( projectRoot != null ) {
+            projectRoots.setProjectRoot( visitedDirectories,
+                                         projectRoot );
+        }
+        return projectRoot;
+    }
+
+    private org.uberfire.java.nio.file.Path findProjectRoot( org.uberfire.java.nio.file.Path path,
+                                                             final List<org.uberfire.java.nio.file.Path> visitedDirectories ) {
+        while ( path.getNameCount() > 0 && !path.getFileName().toString().equals( SOURCE_FILENAME ) ) {
+            visitedDirectories.add( path );
+            if ( hasPom( path ) && hasKModule( path ) ) {
+                return path;
+            }
+            path = path.getParent();
+        }
+        if ( path.getNameCount() == 0 ) {
+            return null;
+        }
+        visitedDirectories.add( path );
+        path = path.getParent();
+        if ( path.getNameCount() == 0 || path == null ) {
+            return null;
+        }
+        if ( !hasPom( path ) ) {
+            return null;
+        }
+        if ( !hasKModule( path ) ) {
+            return null;
+        }
+        visitedDirectories.add( path );
+        return path;
+    }
+
     @Override
     protected KieProject makeProject( final org.uberfire.java.nio.file.Path nioProjectRootPath ) {
         final KieProject project = simpleProjectInstance( nioProjectRootPath );
-        final POM pom = pomService.load( project.getPomXMLPath() );
+        final POM pom = resolutionCache.getProjectRoots( nioProjectRootPath ).getPom( project.getPomXMLPath(),
+                                                                                     () -> ioService.readAllString( Paths.convert( project.getPomXMLPath() ) ) );
         project.setPom( pom );
 
         addSecurityGroups( project );
@@ -127,14 +127,9 @@ public class ValidatorBuildService {
         if ( isIncrementalBuildPossible( resourcePath ) ) {
             //Build the Builder from the cache so it's "built" state can be preserved for re-use
             BuildInfo buildInfo = buildInfoService.getBuildInfo( project );
-            final Builder clone = ( ( BuildInfoImpl ) buildInfo ).getBuilder().clone();
-            //First delete resource otherwise if the resource already had errors following builder.build()
-            //the incremental compilation will not report any additional errors and the resource will be
-            //considered valid.
-            clone.deleteResource( nioResourcePath );
-
-            final IncrementalBuildResults incrementalBuildResults = clone.updateResource( nioResourcePath,
-                                                                                          inputStream );
+            //The resource is validated over a copy of the Builder that is shared between validations
+            final IncrementalBuildResults incrementalBuildResults = ( ( BuildInfoImpl ) buildInfo ).getBuilder().validateResource( nioResourcePath,
+                                                                                                                                 inputStream );
             resultBuilder.add( incrementalBuildResults.getAddedMessages() );
 
         } else {
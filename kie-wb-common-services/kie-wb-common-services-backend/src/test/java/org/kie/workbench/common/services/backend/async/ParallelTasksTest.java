@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.async;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ParallelTasksTest {
+
+    @Test
+    public void testResultsAreInTaskOrder() throws Exception {
+        final List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+        for (int i = 0; i < 100; i++) {
+            final int value = i;
+            tasks.add(() -> value);
+        }
+
+        final List<Future<Integer>> futures = ParallelTasks.invokeAll(tasks,
+                                                                      4);
+
+        assertEquals(100,
+                     futures.size());
+        for (int i = 0; i < 100; i++) {
+            assertTrue(futures.get(i).isDone());
+            assertEquals(i,
+                         (int) futures.get(i).get());
+        }
+    }
+
+    @Test
+    public void testParallelismIsBounded() throws Exception {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+        for (int i = 0; i < 50; i++) {
+            tasks.add(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(),
+                                            Math::max);
+                Thread.sleep(1);
+                running.decrementAndGet();
+                return null;
+            });
+        }
+
+        ParallelTasks.invokeAll(tasks,
+                                2);
+
+        assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    public void testCallingThreadRunsAllWithoutParallelism() throws Exception {
+        final Thread caller = Thread.currentThread();
+        final List<Callable<Thread>> tasks = new ArrayList<Callable<Thread>>();
+        for (int i = 0; i < 10; i++) {
+            tasks.add(Thread::currentThread);
+        }
+
+        for (Future<Thread> future : ParallelTasks.invokeAll(tasks,
+                                                             1)) {
+            assertSame(caller,
+                       future.get());
+        }
+    }
+
+    @Test
+    public void testFailureIsReportedByItsFuture() throws Exception {
+        final List<Callable<String>> tasks = new ArrayList<Callable<String>>();
+        tasks.add(() -> "ok");
+        tasks.add(() -> {
+            throw new IllegalStateException("failed");
+        });
+
+        final List<Future<String>> futures = ParallelTasks.invokeAll(tasks,
+                                                                     2);
+
+        assertEquals("ok",
+                     futures.get(0).get());
+        try {
+            futures.get(1).get();
+            fail("Expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+}
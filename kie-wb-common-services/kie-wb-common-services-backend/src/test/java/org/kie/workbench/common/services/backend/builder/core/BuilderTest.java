@@ -16,23 +16,34 @@
 
 package org.kie.workbench.common.services.backend.builder.core;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
 import com.google.common.io.Resources;
 import org.drools.core.rule.TypeMetaInfo;
 import org.guvnor.common.services.project.builder.model.BuildMessage;
 import org.guvnor.common.services.project.builder.model.BuildResults;
+import org.guvnor.common.services.project.builder.model.IncrementalBuildResults;
 import org.guvnor.common.services.project.builder.service.BuildService;
 import org.guvnor.common.services.project.model.POM;
 import org.guvnor.common.services.project.model.Project;
+import org.guvnor.common.services.shared.message.Level;
 import org.guvnor.common.services.shared.validation.model.ValidationMessage;
 import org.junit.After;
 import org.junit.Before;
@@ -56,6 +67,8 @@ import org.slf4j.LoggerFactory;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.io.IOService;
 import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceChangeType;
 
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
@@ -125,6 +138,237 @@ public class BuilderTest
         assertNotNull( builder.getKieContainer() );
     }
 
+    @Test
+    public void testBuilderResolvesJavaClassNamesFromSourceRoots() throws Exception {
+        URL url = this.getClass().getResource( "/ProjectBackendTestProjectStructureValid" );
+        SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        org.uberfire.java.nio.file.Path path = p.getPath( url.toURI() );
+
+        final Project project = projectService.resolveProject( Paths.convert( path ) );
+        final KieProjectService projectServiceSpy = spy( projectService );
+
+        final Builder builder = new Builder( project,
+                                             ioService,
+                                             projectServiceSpy,
+                                             importsService,
+                                             new ArrayList<>(),
+                                             dependenciesClassLoaderCache,
+                                             pomModelCache,
+                                             getPackageNameWhiteListService(),
+                                             alwaysTrue );
+
+        assertEquals( "org.kie.test.Bean",
+                      builder.getFullyQualifiedClassName( path.resolve( "src/main/java/org/kie/test/Bean.java" ) ) );
+        assertEquals( "Bean",
+                      builder.getFullyQualifiedClassName( path.resolve( "src/main/java/Bean.java" ) ) );
+        verify( projectServiceSpy,
+                never() ).resolvePackage( any( org.uberfire.backend.vfs.Path.class ) );
+    }
+
+    @Test
+    public void testBuilderPublishesSnapshotOfBuild() throws Exception {
+        URL url = this.getClass().getResource( "/GuvnorM2RepoDependencyExample1" );
+        SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        org.uberfire.java.nio.file.Path path = p.getPath( url.toURI() );
+
+        final Project project = projectService.resolveProject( Paths.convert( path ) );
+
+        final Builder builder = new Builder( project,
+                                             ioService,
+                                             projectService,
+                                             importsService,
+                                             new ArrayList<>(),
+                                             dependenciesClassLoaderCache,
+                                             pomModelCache,
+                                             getPackageNameWhiteListService(),
+                                             alwaysTrue );
+
+        assertFalse( builder.isBuilt() );
+
+        //Readers trigger the initial build
+        final KieModuleMetaData metaData = builder.getKieModuleMetaDataIgnoringErrors();
+        assertTrue( builder.isBuilt() );
+        assertSame( metaData,
+                    builder.getKieModuleMetaDataIgnoringErrors() );
+
+        //Each build publishes a new snapshot
+        builder.build();
+        assertNotSame( metaData,
+                       builder.getKieModuleMetaDataIgnoringErrors() );
+        assertNotNull( builder.getKieModuleIgnoringErrors() );
+    }
+
+    @Test
+    public void testReadersDoNotWaitForBuildInProgress() throws Exception {
+        URL url = this.getClass().getResource( "/GuvnorM2RepoDependencyExample1" );
+        SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        org.uberfire.java.nio.file.Path path = p.getPath( url.toURI() );
+
+        final Project project = projectService.resolveProject( Paths.convert( path ) );
+
+        final Builder builder = new Builder( project,
+                                             ioService,
+                                             projectService,
+                                             importsService,
+                                             new ArrayList<>(),
+                                             dependenciesClassLoaderCache,
+                                             pomModelCache,
+                                             getPackageNameWhiteListService(),
+                                             alwaysTrue );
+        builder.build();
+
+        final KieModuleMetaData metaData = builder.getKieModuleMetaDataIgnoringErrors();
+
+        //Builds hold the KieFileSystem lock for their duration
+        final ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            synchronized ( builder.getKieFileSystem() ) {
+                final Future<KieModuleMetaData> read = reader.submit( builder::getKieModuleMetaDataIgnoringErrors );
+                assertSame( metaData,
+                            read.get( 10,
+                                      TimeUnit.SECONDS ) );
+                assertNotNull( reader.submit( builder::getKieModuleIgnoringErrors ).get( 10,
+                                                                                      TimeUnit.SECONDS ) );
+            }
+        } finally {
+            reader.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testValidateResourceReusesOverlay() throws Exception {
+        URL url = this.getClass().getResource( "/GuvnorM2RepoDependencyExample1" );
+        SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        org.uberfire.java.nio.file.Path path = p.getPath( url.toURI() );
+
+        final Project project = projectService.resolveProject( Paths.convert( path ) );
+
+        final Builder builder = new Builder( project,
+                                             ioService,
+                                             projectService,
+                                             importsService,
+                                             new ArrayList<>(),
+                                             dependenciesClassLoaderCache,
+                                             pomModelCache,
+                                             getPackageNameWhiteListService(),
+                                             alwaysTrue );
+        builder.build();
+
+        final org.uberfire.java.nio.file.Path rule1 = path.resolve( "src/main/resources/rule1.drl" );
+        final org.uberfire.java.nio.file.Path rule2 = path.resolve( "src/main/resources/rule2.drl" );
+        final byte[] rule1Content = builder.readResource( rule1 );
+        final String invalidDrl = "package org.kie.workbench.common.services.builder.tests.test1\n" +
+                "rule Invalid when Missing() then end";
+
+        final long clones = ValidationOverlay.getCloneCount();
+
+        assertTrue( hasErrors( builder.validateResource( rule1,
+                                                         new ByteArrayInputStream( invalidDrl.getBytes() ) ) ) );
+        assertFalse( hasErrors( builder.validateResource( rule1,
+                                                          new ByteArrayInputStream( rule1Content ) ) ) );
+        assertTrue( hasErrors( builder.validateResource( rule2,
+                                                         new ByteArrayInputStream( invalidDrl.getBytes() ) ) ) );
+
+        //All validations were layered over the same copy of the Builder, leaving the Builder unchanged
+        assertEquals( clones + 1,
+                      ValidationOverlay.getCloneCount() );
+        assertArrayEquals( rule1Content,
+                           builder.readResource( rule1 ) );
+        assertNotEquals( invalidDrl,
+                         new String( builder.readResource( rule2 ) ) );
+    }
+
+    @Test
+    public void testValidateResourceClonesOnlyAfterFullBuild() throws Exception {
+        URL url = this.getClass().getResource( "/GuvnorM2RepoDependencyExample1" );
+        SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        org.uberfire.java.nio.file.Path path = p.getPath( url.toURI() );
+
+        final Project project = projectService.resolveProject( Paths.convert( path ) );
+
+        final Builder builder = new Builder( project,
+                                             ioService,
+                                             projectService,
+                                             importsService,
+                                             new ArrayList<>(),
+                                             dependenciesClassLoaderCache,
+                                             pomModelCache,
+                                             getPackageNameWhiteListService(),
+                                             alwaysTrue );
+        builder.build();
+
+        final org.uberfire.java.nio.file.Path rule1 = path.resolve( "src/main/resources/rule1.drl" );
+        final org.uberfire.java.nio.file.Path rule2 = path.resolve( "src/main/resources/rule2.drl" );
+        final byte[] rule1Content = builder.readResource( rule1 );
+        final byte[] rule2Content = builder.readResource( rule2 );
+        final String invalidDrl = "package org.kie.workbench.common.services.builder.tests.test1\n" +
+                "rule Invalid when Missing() then end";
+
+        final long clones = ValidationOverlay.getCloneCount();
+
+        assertTrue( hasErrors( builder.validateResource( rule1,
+                                                         new ByteArrayInputStream( invalidDrl.getBytes() ) ) ) );
+
+        //Incremental builds are copied to the existing clone
+        builder.updateResource( rule2,
+                                new ByteArrayInputStream( rule2Content ) );
+        assertFalse( hasErrors( builder.validateResource( rule1,
+                                                          new ByteArrayInputStream( rule1Content ) ) ) );
+        assertEquals( clones + 1,
+                      ValidationOverlay.getCloneCount() );
+
+        //A full build replaces the clone
+        builder.build();
+        assertFalse( hasErrors( builder.validateResource( rule1,
+                                                          new ByteArrayInputStream( rule1Content ) ) ) );
+        assertEquals( clones + 2,
+                      ValidationOverlay.getCloneCount() );
+    }
+
+    private boolean hasErrors( final IncrementalBuildResults results ) {
+        for ( BuildMessage message : results.getAddedMessages() ) {
+            if ( Level.ERROR.equals( message.getLevel() ) ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void testResourceAddedAndDeletedInOneBatchIsNotBuilt() throws Exception {
+        URL url = this.getClass().getResource( "/GuvnorM2RepoDependencyExample1" );
+        SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        org.uberfire.java.nio.file.Path path = p.getPath( url.toURI() );
+
+        final Project project = projectService.resolveProject( Paths.convert( path ) );
+
+        final Builder builder = new Builder( project,
+                                             ioService,
+                                             projectService,
+                                             importsService,
+                                             new ArrayList<>(),
+                                             dependenciesClassLoaderCache,
+                                             pomModelCache,
+                                             getPackageNameWhiteListService(),
+                                             alwaysTrue );
+        builder.build();
+
+        final org.uberfire.java.nio.file.Path resource = path.resolve( "src/main/resources/added.drl" );
+        final ResourceChange added = mock( ResourceChange.class );
+        when( added.getType() ).thenReturn( ResourceChangeType.ADD );
+        final ResourceChange deleted = mock( ResourceChange.class );
+        when( deleted.getType() ).thenReturn( ResourceChangeType.DELETE );
+        final Map<org.uberfire.backend.vfs.Path, Collection<ResourceChange>> changes = new HashMap<>();
+        changes.put( Paths.convert( resource ),
+                     Arrays.asList( added,
+                                    deleted ) );
+
+        final IncrementalBuildResults results = builder.applyBatchResourceChanges( changes );
+
+        assertTrue( results.getAddedMessages().isEmpty() );
+        assertNull( builder.readResource( resource ) );
+    }
+
     @Test
     public void testBuilderKProjectHasDependency() throws Exception {
         URL url = this.getClass().getResource( "/GuvnorM2RepoDependencyExample2" );
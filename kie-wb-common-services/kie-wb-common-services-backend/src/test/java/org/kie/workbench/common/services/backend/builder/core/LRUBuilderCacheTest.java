@@ -0,0 +1,326 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+import org.guvnor.common.services.project.builder.events.InvalidateDMOProjectCacheEvent;
+import org.guvnor.common.services.project.model.GAV;
+import org.guvnor.common.services.project.model.POM;
+import org.guvnor.common.services.project.model.Project;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class LRUBuilderCacheTest {
+
+    private final AtomicInteger builderCount = new AtomicInteger();
+
+    private CountDownLatch loadLatch;
+
+    private ExecutorService executor;
+
+    private LRUBuilderCache cache;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        cache = new LRUBuilderCache() {
+            @Override
+            Builder makeBuilder(final Project project) {
+                if (loadLatch != null) {
+                    try {
+                        loadLatch.await(5,
+                                        TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+                builderCount.incrementAndGet();
+                return mock(Builder.class);
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testBuilderIsLoadedOnce() {
+        final Project project = makeProject("p1");
+
+        final Builder builder1 = cache.assertBuilder(project);
+        final Builder builder2 = cache.assertBuilder(project);
+
+        assertSame(builder1,
+                   builder2);
+        assertSame(builder1,
+                   cache.getBuilder(project));
+        assertEquals(1,
+                     builderCount.get());
+        assertEquals(1,
+                     cache.getMissCount());
+        assertEquals(1,
+                     cache.getHitCount());
+        assertEquals(1,
+                     cache.getLoadCount());
+    }
+
+    @Test
+    public void testConcurrentLoadOfSameProject() throws Exception {
+        final Project project = makeProject("p1");
+        loadLatch = new CountDownLatch(1);
+
+        final Future<Builder> f1 = executor.submit(() -> cache.assertBuilder(project));
+        final Future<Builder> f2 = executor.submit(() -> cache.assertBuilder(project));
+
+        loadLatch.countDown();
+
+        assertSame(f1.get(5,
+                          TimeUnit.SECONDS),
+                   f2.get(5,
+                          TimeUnit.SECONDS));
+        assertEquals(1,
+                     builderCount.get());
+    }
+
+    @Test
+    public void testLoadOfOtherProjectIsNotBlocked() throws Exception {
+        final Project slowProject = makeProject("slow");
+        final Project fastProject = makeProject("fast");
+        final CountDownLatch slowLatch = new CountDownLatch(1);
+
+        final LRUBuilderCache cache = new LRUBuilderCache() {
+            @Override
+            Builder makeBuilder(final Project project) {
+                if (project == slowProject) {
+                    try {
+                        slowLatch.await(5,
+                                        TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+                return mock(Builder.class);
+            }
+        };
+
+        final Future<Builder> slow = executor.submit(() -> cache.assertBuilder(slowProject));
+        final Future<Builder> fast = executor.submit(() -> cache.assertBuilder(fastProject));
+
+        assertNotNull(fast.get(5,
+                               TimeUnit.SECONDS));
+        assertFalse(slow.isDone());
+
+        slowLatch.countDown();
+        assertNotNull(slow.get(5,
+                               TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFailedLoadIsNotCached() {
+        final Project project = makeProject("p1");
+        final LRUBuilderCache cache = new LRUBuilderCache() {
+            @Override
+            Builder makeBuilder(final Project project) {
+                if (builderCount.incrementAndGet() == 1) {
+                    throw new IllegalStateException("boom");
+                }
+                return mock(Builder.class);
+            }
+        };
+
+        try {
+            cache.assertBuilder(project);
+            fail("Exception should have been thrown.");
+        } catch (IllegalStateException e) {
+            assertEquals("boom",
+                         e.getMessage());
+        }
+
+        assertNull(cache.getBuilder(project));
+        assertNotNull(cache.assertBuilder(project));
+    }
+
+    @Test
+    public void testAssertBuilderByPOM() throws Exception {
+        final Project project = makeProject("p1");
+        final Builder builder = cache.assertBuilder(project);
+
+        assertSame(builder,
+                   cache.assertBuilder(project.getPom()));
+    }
+
+    @Test(expected = NoBuilderFoundException.class)
+    public void testAssertBuilderByPOMNotCached() throws Exception {
+        cache.assertBuilder(makeProject("p1").getPom());
+    }
+
+    @Test(expected = NoBuilderFoundException.class)
+    public void testAssertBuilderByPOMAfterInvalidation() throws Exception {
+        final Project project = makeProject("p1");
+        cache.assertBuilder(project);
+
+        cache.invalidateProjectCache(new InvalidateDMOProjectCacheEvent(null,
+                                                                        project,
+                                                                        null));
+
+        cache.assertBuilder(project.getPom());
+    }
+
+    @Test
+    public void testAssertBuilderByPOMOfProjectsWithSameGAV() throws Exception {
+        //e.g. two branches of the same repository
+        final Project branch1 = makeProject("p1");
+        final Project branch2 = makeProject("p1");
+        final Builder builder1 = cache.assertBuilder(branch1);
+        Thread.sleep(1);
+        final Builder builder2 = cache.assertBuilder(branch2);
+
+        assertSame(builder2,
+                   cache.assertBuilder(branch2.getPom()));
+
+        //Invalidating one branch does not drop the other from the GAV index
+        cache.invalidateCache(branch2);
+        assertSame(builder1,
+                   cache.assertBuilder(branch1.getPom()));
+    }
+
+    @Test
+    public void testEvictionByEntries() throws Exception {
+        cache.setMaxEntries(2);
+        final Project p1 = makeProject("p1");
+        final Project p2 = makeProject("p2");
+        final Project p3 = makeProject("p3");
+
+        cache.assertBuilder(p1);
+        cache.assertBuilder(p2);
+        //Make p1 the most recently used
+        Thread.sleep(1);
+        cache.assertBuilder(p1);
+        cache.assertBuilder(p3);
+
+        assertEquals(2,
+                     cache.size());
+        assertNotNull(cache.getBuilder(p1));
+        assertNull(cache.getBuilder(p2));
+        assertNotNull(cache.getBuilder(p3));
+        assertEquals(1,
+                     cache.getEvictionCount());
+    }
+
+    @Test
+    public void testEvictionByWeight() throws Exception {
+        cache.setMaxWeight(1);
+        final Project p1 = makeProject("p1");
+        final Project p2 = makeProject("p2");
+
+        cache.assertBuilder(p1);
+        Thread.sleep(1);
+        cache.assertBuilder(p2);
+
+        assertEquals(1,
+                     cache.size());
+        assertEquals(1,
+                     cache.getWeight());
+        assertNull(cache.getBuilder(p1));
+        assertNotNull(cache.getBuilder(p2));
+    }
+
+    @Test
+    public void testValidationOverlayIsWeighedAndReleasedOnEviction() throws Exception {
+        final Project p1 = makeProject("p1");
+        final Project p2 = makeProject("p2");
+
+        final Builder builder1 = cache.assertBuilder(p1);
+        getValidationOverlayWeightListener(builder1).accept(5);
+        assertEquals(6,
+                     cache.getWeight());
+
+        //Once over the limit the least recently used Builder is evicted together with its overlay
+        cache.setMaxWeight(6);
+        Thread.sleep(1);
+        cache.assertBuilder(p2);
+
+        assertNull(cache.getBuilder(p1));
+        verify(builder1).releaseValidationOverlay();
+        assertEquals(1,
+                     cache.getWeight());
+    }
+
+    @Test
+    public void testValidationOverlayGrowthEvictsWithoutLoading() throws Exception {
+        final Project p1 = makeProject("p1");
+        final Project p2 = makeProject("p2");
+
+        cache.assertBuilder(p1);
+        Thread.sleep(1);
+        final Builder builder2 = cache.assertBuilder(p2);
+
+        //Hits don't evict; only loads and changes in weight do
+        cache.setMaxWeight(1);
+        cache.assertBuilder(p2);
+        assertEquals(2,
+                     cache.size());
+
+        cache.setMaxWeight(4);
+        getValidationOverlayWeightListener(builder2).accept(3);
+
+        assertNull(cache.getBuilder(p1));
+        assertNotNull(cache.getBuilder(p2));
+        assertEquals(4,
+                     cache.getWeight());
+    }
+
+    @Test
+    public void testValidationOverlayIsReleasedOnInvalidation() {
+        final Project project = makeProject("p1");
+        final Builder builder = cache.assertBuilder(project);
+
+        cache.invalidateCache(project);
+
+        verify(builder).releaseValidationOverlay();
+    }
+
+    private LongConsumer getValidationOverlayWeightListener(final Builder builder) {
+        final ArgumentCaptor<LongConsumer> listener = ArgumentCaptor.forClass(LongConsumer.class);
+        verify(builder).setValidationOverlayWeightListener(listener.capture());
+        return listener.getValue();
+    }
+
+    private Project makeProject(final String artifactId) {
+        final Project project = mock(Project.class);
+        final POM pom = new POM(new GAV("org.kie",
+                                        artifactId,
+                                        "1.0"));
+        when(project.getPom()).thenReturn(pom);
+        when(project.getProjectName()).thenReturn(artifactId);
+        return project;
+    }
+}
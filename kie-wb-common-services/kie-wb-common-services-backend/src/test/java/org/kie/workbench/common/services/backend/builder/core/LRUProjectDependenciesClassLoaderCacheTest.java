@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.services.shared.project.KieProject;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class LRUProjectDependenciesClassLoaderCacheTest {
+
+    private LRUProjectDependenciesClassLoaderCache cache;
+
+    private URL jar1;
+
+    private URL jar2;
+
+    @Before
+    public void setup() throws Exception {
+        cache = new LRUProjectDependenciesClassLoaderCache();
+        jar1 = getClass().getResource( "/dependency-test1-1.0.jar" );
+        jar2 = getClass().getResource( "/dependency-test1-snapshot-1.0-SNAPSHOT.jar" );
+    }
+
+    @Test
+    public void testProjectsWithSameDependenciesShareClassLoader() {
+        final KieProject project1 = mock( KieProject.class );
+        final KieProject project2 = mock( KieProject.class );
+        final ClassLoader classLoader1 = newClassLoader( jar1,
+                                                         jar2 );
+        final ClassLoader classLoader2 = newClassLoader( jar2,
+                                                         jar1 );
+
+        cache.setDependenciesClassLoader( project1,
+                                          classLoader1 );
+        cache.setDependenciesClassLoader( project2,
+                                          classLoader2 );
+
+        assertSame( classLoader1,
+                    cache.assertDependenciesClassLoader( project1 ) );
+        assertSame( classLoader1,
+                    cache.assertDependenciesClassLoader( project2 ) );
+        assertEquals( 2,
+                      cache.size() );
+        assertEquals( 1,
+                      cache.getClassLoaderCount() );
+        assertEquals( 1,
+                      cache.getSharedCount() );
+    }
+
+    @Test
+    public void testProjectsWithDifferentDependenciesDoNotShareClassLoader() {
+        final KieProject project1 = mock( KieProject.class );
+        final KieProject project2 = mock( KieProject.class );
+        final ClassLoader classLoader1 = newClassLoader( jar1 );
+        final ClassLoader classLoader2 = newClassLoader( jar1,
+                                                         jar2 );
+
+        cache.setDependenciesClassLoader( project1,
+                                          classLoader1 );
+        cache.setDependenciesClassLoader( project2,
+                                          classLoader2 );
+
+        assertSame( classLoader1,
+                    cache.assertDependenciesClassLoader( project1 ) );
+        assertSame( classLoader2,
+                    cache.assertDependenciesClassLoader( project2 ) );
+        assertEquals( 2,
+                      cache.getClassLoaderCount() );
+        assertEquals( 0,
+                      cache.getSharedCount() );
+    }
+
+    @Test
+    public void testClassLoaderIsReleasedWithItsLastProject() {
+        final KieProject project1 = mock( KieProject.class );
+        final KieProject project2 = mock( KieProject.class );
+        final ClassLoader classLoader1 = newClassLoader( jar1 );
+
+        cache.setDependenciesClassLoader( project1,
+                                          classLoader1 );
+        cache.setDependenciesClassLoader( project2,
+                                          newClassLoader( jar1 ) );
+
+        //Project1 changes its dependencies; Project2 still references the shared ClassLoader
+        final ClassLoader classLoader2 = newClassLoader( jar2 );
+        cache.setDependenciesClassLoader( project1,
+                                          classLoader2 );
+        assertEquals( 2,
+                      cache.getClassLoaderCount() );
+        assertSame( classLoader1,
+                    cache.assertDependenciesClassLoader( project2 ) );
+
+        cache.invalidateCache( project2 );
+        assertEquals( 1,
+                      cache.getClassLoaderCount() );
+
+        //A new Project with the released dependencies does not get the released ClassLoader
+        final KieProject project3 = mock( KieProject.class );
+        final ClassLoader classLoader3 = newClassLoader( jar1 );
+        cache.setDependenciesClassLoader( project3,
+                                          classLoader3 );
+        assertSame( classLoader3,
+                    cache.assertDependenciesClassLoader( project3 ) );
+    }
+
+    @Test
+    public void testEvictedProjectsReleaseClassLoaders() {
+        for ( int i = 0; i < LRUProjectDependenciesClassLoaderCache.MAX_ENTRIES + 5; i++ ) {
+            cache.setDependenciesClassLoader( mock( KieProject.class ),
+                                              new ClassLoader() {
+                                              } );
+        }
+
+        assertEquals( LRUProjectDependenciesClassLoaderCache.MAX_ENTRIES,
+                      cache.size() );
+        assertEquals( LRUProjectDependenciesClassLoaderCache.MAX_ENTRIES,
+                      cache.getClassLoaderCount() );
+        assertEquals( LRUProjectDependenciesClassLoaderCache.MAX_ENTRIES + 5,
+                      cache.getCreatedCount() );
+    }
+
+    private ClassLoader newClassLoader( final URL... urls ) {
+        return new URLClassLoader( urls,
+                                   getClass().getClassLoader() );
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.guvnor.common.services.backend.file.DotFileFilter;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.Files;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ProjectSourceLoaderTest {
+
+    @Mock
+    private IOService ioService;
+
+    private Path projectRoot;
+
+    private ProjectSourceLoader loader;
+
+    @Before
+    public void setup() throws Exception {
+        final URL url = this.getClass().getResource( "/GuvnorM2RepoDependencyExample1" );
+        projectRoot = new SimpleFileSystemProvider().getPath( url.toURI() );
+
+        when( ioService.readAllBytes( any( Path.class ) ) ).thenAnswer( ( invocation ) -> Files.readAllBytes( (Path) invocation.getArguments()[ 0 ] ) );
+
+        loader = new ProjectSourceLoader( ioService,
+                                          new DotFileFilter() );
+    }
+
+    @Test
+    public void testLoadAllResources() {
+        final Map<Path, byte[]> resources = new LinkedHashMap<Path, byte[]>();
+        loader.load( projectRoot,
+                     resources::put );
+
+        final List<String> names = new ArrayList<String>();
+        for ( Map.Entry<Path, byte[]> e : resources.entrySet() ) {
+            names.add( e.getKey().getFileName().toString() );
+            assertArrayEquals( Files.readAllBytes( e.getKey() ),
+                               e.getValue() );
+        }
+
+        assertEquals( 5,
+                      resources.size() );
+        assertTrue( names.contains( "pom.xml" ) );
+        assertTrue( names.contains( "kmodule.xml" ) );
+        assertTrue( names.contains( "rule1.drl" ) );
+        assertTrue( names.contains( "rule2.drl" ) );
+        assertTrue( names.contains( "Bean.java" ) );
+    }
+
+    @Test
+    public void testResourcesAreReadInBatches() {
+        final List<Path> resources = new ArrayList<Path>();
+        for ( int i = 0; i < ProjectSourceLoader.BATCH_SIZE * 2 + 1; i++ ) {
+            resources.add( projectRoot.resolve( "pom.xml" ) );
+        }
+        final AtomicInteger reads = new AtomicInteger();
+        doAnswer( ( invocation ) -> {
+            reads.incrementAndGet();
+            return new byte[ 0 ];
+        } ).when( ioService ).readAllBytes( any( Path.class ) );
+
+        final List<Integer> readsWhenConsumed = new ArrayList<Integer>();
+        loader.read( resources,
+                     ( path, content ) -> readsWhenConsumed.add( reads.get() ) );
+
+        assertEquals( resources.size(),
+                      readsWhenConsumed.size() );
+        //No more than one batch is read ahead of the consumer
+        for ( int i = 0; i < readsWhenConsumed.size(); i++ ) {
+            assertTrue( readsWhenConsumed.get( i ) <= ( i / ProjectSourceLoader.BATCH_SIZE + 1 ) * ProjectSourceLoader.BATCH_SIZE );
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReadFailureIsPropagated() {
+        when( ioService.readAllBytes( any( Path.class ) ) ).thenThrow( new IllegalArgumentException( "failed" ) );
+
+        loader.load( projectRoot,
+                     ( path, content ) -> {
+                     } );
+    }
+
+}
@@ -0,0 +1,352 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.guvnor.common.services.project.builder.model.IncrementalBuildResults;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.backend.builder.ala.LocalBuildConfig;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceChangeType;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class IncrementalBuildQueueTest {
+
+    @Mock
+    private BuildServiceHelper buildServiceHelper;
+
+    @Mock
+    private KieProject project;
+
+    @Mock
+    private IncrementalBuildResults incrementalBuildResults;
+
+    private IncrementalBuildQueue queue;
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        queue = new IncrementalBuildQueue(buildServiceHelper);
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSingleChangeIsBuiltAsBefore() {
+        final Path path = mock(Path.class);
+        when(buildServiceHelper.localBuild(project,
+                                           LocalBuildConfig.BuildType.INCREMENTAL_ADD_RESOURCE,
+                                           path)).thenReturn(incrementalBuildResults);
+        queue.setCoalescingWindow(0,
+                                  TimeUnit.MILLISECONDS);
+
+        assertSame(incrementalBuildResults,
+                   queue.submit(project,
+                                path,
+                                LocalBuildConfig.BuildType.INCREMENTAL_ADD_RESOURCE));
+        verify(buildServiceHelper,
+               never()).localBuild(eq(project),
+                                   anyMap());
+        assertEquals(0,
+                     queue.getQueueDepth());
+        assertEquals(1,
+                     queue.getBuildCount());
+    }
+
+    @Test
+    public void testIdleQueueBuildsWithoutWaiting() {
+        final Path path = mock(Path.class);
+        when(buildServiceHelper.localBuild(project,
+                                           LocalBuildConfig.BuildType.INCREMENTAL_UPDATE_RESOURCE,
+                                           path)).thenReturn(incrementalBuildResults);
+        queue.setCoalescingWindow(10,
+                                  TimeUnit.SECONDS);
+
+        final long start = System.nanoTime();
+        assertSame(incrementalBuildResults,
+                   queue.submit(project,
+                                path,
+                                LocalBuildConfig.BuildType.INCREMENTAL_UPDATE_RESOURCE));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testChangesWithinWindowAreCoalesced() throws Exception {
+        when(buildServiceHelper.localBuild(eq(project),
+                                           anyMap())).thenReturn(incrementalBuildResults);
+        queue.setCoalescingWindow(10,
+                                  TimeUnit.SECONDS);
+        final CountDownLatch buildRelease = startBlockingBuild();
+
+        final Path first = mock(Path.class);
+        final Future<IncrementalBuildResults> firstResults = executor.submit(() -> queue.submit(project,
+                                                                                                first,
+                                                                                                LocalBuildConfig.BuildType.INCREMENTAL_ADD_RESOURCE));
+        waitForQueueDepth(1);
+
+        final List<Future<IncrementalBuildResults>> otherResults = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            final Path path = mock(Path.class);
+            otherResults.add(executor.submit(() -> queue.submit(project,
+                                                                path,
+                                                                LocalBuildConfig.BuildType.INCREMENTAL_UPDATE_RESOURCE)));
+        }
+        waitForQueueDepth(10);
+        queue.setCoalescingWindow(0,
+                                  TimeUnit.MILLISECONDS);
+        buildRelease.countDown();
+        //Wake the first caller to notice the shortened window
+        queue.interactive(project,
+                          () -> null);
+
+        assertSame(incrementalBuildResults,
+                   firstResults.get(5,
+                                    TimeUnit.SECONDS));
+        for (Future<IncrementalBuildResults> results : otherResults) {
+            assertNotSame(incrementalBuildResults,
+                          results.get(5,
+                                      TimeUnit.SECONDS));
+        }
+
+        final ArgumentCaptor<Map> changes = ArgumentCaptor.forClass(Map.class);
+        verify(buildServiceHelper,
+               times(1)).localBuild(eq(project),
+                                    changes.capture());
+        assertEquals(10,
+                     changes.getValue().size());
+        final Collection<ResourceChange> firstChanges = (Collection<ResourceChange>) changes.getValue().get(first);
+        assertEquals(ResourceChangeType.ADD,
+                     firstChanges.iterator().next().getType());
+        //The blocking build and the coalesced batch
+        assertEquals(11,
+                     queue.getChangeCount());
+        assertEquals(2,
+                     queue.getBuildCount());
+        assertEquals(0,
+                     queue.getQueueDepth());
+    }
+
+    @Test
+    public void testInteractiveBuildsDeferIncrementalBuilds() throws Exception {
+        final Path path = mock(Path.class);
+        when(buildServiceHelper.localBuild(project,
+                                           LocalBuildConfig.BuildType.INCREMENTAL_UPDATE_RESOURCE,
+                                           path)).thenReturn(incrementalBuildResults);
+        queue.setCoalescingWindow(100,
+                                  TimeUnit.MILLISECONDS);
+
+        final CountDownLatch interactiveStarted = new CountDownLatch(1);
+        final CountDownLatch interactiveRelease = new CountDownLatch(1);
+        final Future<Object> interactive = executor.submit(() -> queue.interactive(project,
+                                                                                   () -> {
+                                                                                       interactiveStarted.countDown();
+                                                                                       await(interactiveRelease);
+                                                                                       return null;
+                                                                                   }));
+        assertTrue(interactiveStarted.await(5,
+                                            TimeUnit.SECONDS));
+
+        final Future<IncrementalBuildResults> results = executor.submit(() -> queue.submit(project,
+                                                                                           path,
+                                                                                           LocalBuildConfig.BuildType.INCREMENTAL_UPDATE_RESOURCE));
+
+        //The coalescing window passes while the interactive build is running
+        Thread.sleep(300);
+        verify(buildServiceHelper,
+               never()).localBuild(any(KieProject.class),
+                                   any(LocalBuildConfig.BuildType.class),
+                                   any(Path.class));
+
+        interactiveRelease.countDown();
+        interactive.get(5,
+                        TimeUnit.SECONDS);
+        assertSame(incrementalBuildResults,
+                   results.get(5,
+                               TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testBuildFailureIsReportedToAllCallers() throws Exception {
+        when(buildServiceHelper.localBuild(eq(project),
+                                           anyMap())).thenThrow(new IllegalStateException("Incremental Build requires a full build be completed first."));
+        queue.setCoalescingWindow(10,
+                                  TimeUnit.SECONDS);
+        final CountDownLatch buildRelease = startBlockingBuild();
+
+        final Future<IncrementalBuildResults> firstResults = executor.submit(() -> queue.submit(project,
+                                                                                                mock(Path.class),
+                                                                                                LocalBuildConfig.BuildType.INCREMENTAL_ADD_RESOURCE));
+        waitForQueueDepth(1);
+        final Future<IncrementalBuildResults> secondResults = executor.submit(() -> queue.submit(project,
+                                                                                                 mock(Path.class),
+                                                                                                 LocalBuildConfig.BuildType.INCREMENTAL_ADD_RESOURCE));
+        waitForQueueDepth(2);
+        queue.setCoalescingWindow(0,
+                                  TimeUnit.MILLISECONDS);
+        buildRelease.countDown();
+        queue.interactive(project,
+                          () -> null);
+
+        assertFailed(firstResults);
+        assertFailed(secondResults);
+    }
+
+    @Test
+    public void testBuildErrorIsReportedToAllCallers() throws Exception {
+        when(buildServiceHelper.localBuild(eq(project),
+                                           anyMap())).thenThrow(new NoClassDefFoundError("org/drools/Missing"));
+        queue.setCoalescingWindow(10,
+                                  TimeUnit.SECONDS);
+        final CountDownLatch buildRelease = startBlockingBuild();
+
+        final Future<IncrementalBuildResults> firstResults = executor.submit(() -> queue.submit(project,
+                                                                                                mock(Path.class),
+                                                                                                LocalBuildConfig.BuildType.INCREMENTAL_ADD_RESOURCE));
+        waitForQueueDepth(1);
+        final Future<IncrementalBuildResults> secondResults = executor.submit(() -> queue.submit(project,
+                                                                                                 mock(Path.class),
+                                                                                                 LocalBuildConfig.BuildType.INCREMENTAL_ADD_RESOURCE));
+        waitForQueueDepth(2);
+        queue.setCoalescingWindow(0,
+                                  TimeUnit.MILLISECONDS);
+        buildRelease.countDown();
+        queue.interactive(project,
+                          () -> null);
+
+        for (Future<IncrementalBuildResults> results : Arrays.asList(firstResults,
+                                                                     secondResults)) {
+            try {
+                results.get(5,
+                            TimeUnit.SECONDS);
+                fail("The build error should have been reported");
+            } catch (java.util.concurrent.ExecutionException e) {
+                assertTrue(e.getCause() instanceof NoClassDefFoundError);
+            }
+        }
+    }
+
+    @Test
+    public void testDrainedQueueIsRemoved() throws Exception {
+        final Path path = mock(Path.class);
+        when(buildServiceHelper.localBuild(project,
+                                           LocalBuildConfig.BuildType.INCREMENTAL_UPDATE_RESOURCE,
+                                           path)).thenReturn(incrementalBuildResults);
+        queue.setCoalescingWindow(0,
+                                  TimeUnit.MILLISECONDS);
+
+        queue.submit(project,
+                     path,
+                     LocalBuildConfig.BuildType.INCREMENTAL_UPDATE_RESOURCE);
+        assertEquals(0,
+                     queue.getQueueCount());
+
+        queue.interactive(project,
+                          () -> {
+                              assertEquals(1,
+                                           queue.getQueueCount());
+                              return null;
+                          });
+        assertEquals(0,
+                     queue.getQueueCount());
+
+        //A Project can be queued again once its queue was removed
+        assertSame(incrementalBuildResults,
+                   queue.submit(project,
+                                path,
+                                LocalBuildConfig.BuildType.INCREMENTAL_UPDATE_RESOURCE));
+        assertEquals(2,
+                     queue.getBuildCount());
+    }
+
+    private void assertFailed(final Future<IncrementalBuildResults> results) throws Exception {
+        try {
+            results.get(5,
+                        TimeUnit.SECONDS);
+            fail("The build failure should have been reported");
+        } catch (java.util.concurrent.ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    //Keeps a build of the Project running, so that the changes submitted meanwhile are coalesced
+    private CountDownLatch startBlockingBuild() throws InterruptedException {
+        final Path path = mock(Path.class);
+        final CountDownLatch buildStarted = new CountDownLatch(1);
+        final CountDownLatch buildRelease = new CountDownLatch(1);
+        when(buildServiceHelper.localBuild(project,
+                                           LocalBuildConfig.BuildType.INCREMENTAL_UPDATE_RESOURCE,
+                                           path)).thenAnswer(invocation -> {
+            buildStarted.countDown();
+            await(buildRelease);
+            return new IncrementalBuildResults();
+        });
+        executor.submit(() -> queue.submit(project,
+                                           path,
+                                           LocalBuildConfig.BuildType.INCREMENTAL_UPDATE_RESOURCE));
+        assertTrue(buildStarted.await(5,
+                                      TimeUnit.SECONDS));
+        return buildRelease;
+    }
+
+    private void waitForQueueDepth(final long depth) throws InterruptedException {
+        final long end = System.currentTimeMillis() + 5000;
+        while (queue.getQueueDepth() < depth && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        assertEquals(depth,
+                     queue.getQueueDepth());
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5,
+                        TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.project;
+
+import java.net.URI;
+import java.util.Arrays;
+
+import org.guvnor.common.services.project.model.POM;
+import org.junit.Before;
+import org.junit.Test;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.rpc.SessionInfo;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class KieProjectResolutionCacheTest {
+
+    private KieProjectResolutionCache cache;
+
+    private org.uberfire.java.nio.file.Path projectRoot;
+
+    private org.uberfire.java.nio.file.Path srcDirectory;
+
+    private org.uberfire.java.nio.file.Path otherBranchDirectory;
+
+    @Before
+    public void setup() {
+        cache = new KieProjectResolutionCache();
+        projectRoot = nioPath( "default://master@repo/project" );
+        srcDirectory = nioPath( "default://master@repo/project/src" );
+        otherBranchDirectory = nioPath( "default://dev@repo/project/src" );
+
+        cache.getProjectRoots( srcDirectory ).setProjectRoot( Arrays.asList( srcDirectory,
+                                                                             projectRoot ),
+                                                              projectRoot );
+        cache.getProjectRoots( otherBranchDirectory ).setProjectRoot( Arrays.asList( otherBranchDirectory ),
+                                                                      otherBranchDirectory );
+    }
+
+    @Test
+    public void testProjectRootLookup() {
+        assertEquals( projectRoot,
+                      cache.getProjectRoots( srcDirectory ).getProjectRoot( srcDirectory ) );
+        assertEquals( projectRoot,
+                      cache.getProjectRoots( projectRoot ).getProjectRoot( projectRoot ) );
+        assertNull( cache.getProjectRoots( srcDirectory ).getProjectRoot( nioPath( "default://master@repo/other" ) ) );
+    }
+
+    @Test
+    public void testPomIsParsedOnce() {
+        final Path pomXMLPath = vfsPath( "default://master@repo/project/pom.xml" );
+        final String content = "<project><modelVersion>4.0.0</modelVersion>"
+                + "<groupId>org.kie</groupId><artifactId>project</artifactId><version>1.0</version></project>";
+
+        final POM pom1 = cache.getProjectRoots( projectRoot ).getPom( pomXMLPath,
+                                                                      () -> content );
+        final POM pom2 = cache.getProjectRoots( projectRoot ).getPom( pomXMLPath,
+                                                                      () -> {
+                                                                          fail( "pom.xml should have been cached." );
+                                                                          return null;
+                                                                      } );
+
+        assertEquals( "project",
+                      pom1.getGav().getArtifactId() );
+        assertSame( pom1,
+                    pom2 );
+    }
+
+    @Test
+    public void testPomIsParsedAgainOnceUpdated() {
+        final Path pomXMLPath = vfsPath( "default://master@repo/project/pom.xml" );
+        final POM pom1 = cache.getProjectRoots( projectRoot ).getPom( pomXMLPath,
+                                                                      () -> "<project><modelVersion>4.0.0</modelVersion>"
+                                                                              + "<groupId>org.kie</groupId><artifactId>project</artifactId><version>1.0</version></project>" );
+
+        cache.onResourceUpdated( new ResourceUpdatedEvent( pomXMLPath,
+                                                           "update",
+                                                           mock( SessionInfo.class ) ) );
+        final POM pom2 = cache.getProjectRoots( projectRoot ).getPom( pomXMLPath,
+                                                                      () -> "<project><modelVersion>4.0.0</modelVersion>"
+                                                                              + "<groupId>org.kie</groupId><artifactId>project</artifactId><version>2.0</version></project>" );
+
+        assertEquals( "1.0",
+                      pom1.getGav().getVersion() );
+        assertEquals( "2.0",
+                      pom2.getGav().getVersion() );
+    }
+
+    @Test
+    public void testPomUpdateInvalidatesBranch() {
+        cache.onResourceUpdated( new ResourceUpdatedEvent( vfsPath( "default://master@repo/project/pom.xml" ),
+                                                           "update",
+                                                           mock( SessionInfo.class ) ) );
+
+        assertNull( cache.getProjectRoots( srcDirectory ).getProjectRoot( srcDirectory ) );
+        //Other branches are not affected
+        assertEquals( otherBranchDirectory,
+                      cache.getProjectRoots( otherBranchDirectory ).getProjectRoot( otherBranchDirectory ) );
+    }
+
+    @Test
+    public void testOtherResourceUpdateDoesNotInvalidate() {
+        cache.onResourceUpdated( new ResourceUpdatedEvent( vfsPath( "default://master@repo/project/src/main/resources/rule.drl" ),
+                                                           "update",
+                                                           mock( SessionInfo.class ) ) );
+
+        assertEquals( projectRoot,
+                      cache.getProjectRoots( srcDirectory ).getProjectRoot( srcDirectory ) );
+    }
+
+    private org.uberfire.java.nio.file.Path nioPath( final String uri ) {
+        final org.uberfire.java.nio.file.Path path = mock( org.uberfire.java.nio.file.Path.class );
+        when( path.toUri() ).thenReturn( URI.create( uri ) );
+        return path;
+    }
+
+    private Path vfsPath( final String uri ) {
+        final Path path = mock( Path.class );
+        when( path.toURI() ).thenReturn( uri );
+        when( path.getFileName() ).thenReturn( uri.substring( uri.lastIndexOf( '/' ) + 1 ) );
+        return path;
+    }
+}
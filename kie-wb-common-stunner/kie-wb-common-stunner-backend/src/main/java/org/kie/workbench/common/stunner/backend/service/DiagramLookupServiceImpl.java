@@ -29,9 +29,11 @@ import org.kie.workbench.common.stunner.core.diagram.Metadata;
 import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.lookup.criteria.AbstractCriteriaLookupManager;
 import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramLookupRequest;
+import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramRepresentation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.Path;
 import org.uberfire.io.IOService;
 
 @ApplicationScoped
@@ -53,6 +55,11 @@ public class DiagramLookupServiceImpl
               diagramService);
     }
 
+    @Override
+    protected DiagramRepresentation getItemByPath(final Path path) {
+        return getServiceImpl().getDiagramRepresentationByPath(path);
+    }
+
     protected org.uberfire.java.nio.file.Path parseCriteriaPath(final DiagramLookupRequest request) {
         String criteria = request.getCriteria();
         if (StringUtils.isEmpty(criteria)) {
@@ -61,15 +68,15 @@ public class DiagramLookupServiceImpl
             Map<String, String> criteriaMap = AbstractCriteriaLookupManager.parseCriteria(criteria);
             String name = criteriaMap.get("name");
             if (!StringUtils.isEmpty(name)) {
-                Collection<Diagram<Graph, Metadata>> diagrams = getItemsByPath(getServiceImpl().getDiagramsPath());
+                Collection<DiagramRepresentation> diagrams = getItemsByPath(getServiceImpl().getDiagramsPath());
                 if (null != diagrams) {
-                    final Diagram d = diagrams
+                    final DiagramRepresentation d = diagrams
                             .stream()
                             .filter(diagram -> name.equals(diagram.getName()))
                             .findFirst()
                             .orElse(null);
                     if (null != d) {
-                        return Paths.convert(d.getMetadata().getPath());
+                        return Paths.convert(d.getPath());
                     }
                 }
                 LOG.error("Diagram with name [" + name + "] not found.");
@@ -17,6 +17,7 @@
 package org.kie.workbench.common.stunner.core.backend.service;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -35,6 +36,8 @@ import org.kie.workbench.common.stunner.core.diagram.Metadata;
 import org.kie.workbench.common.stunner.core.factory.diagram.DiagramFactory;
 import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.content.definition.DefinitionSet;
+import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramRepresentation;
+import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramRepresentationImpl;
 import org.kie.workbench.common.stunner.core.registry.BackendRegistryFactory;
 import org.kie.workbench.common.stunner.core.registry.diagram.DiagramRegistry;
 import org.kie.workbench.common.stunner.core.service.BaseDiagramService;
@@ -128,51 +131,85 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
         return prefix + baseFileName + extension;
     }
 
-    @SuppressWarnings("unchecked")
     public D getDiagramByPath(final org.uberfire.backend.vfs.Path file) {
+        if (!accepts(file)) {
+            throw new UnsupportedOperationException("Diagram format not supported [" + file + "]");
+        }
+        return loadDiagramByPath(file);
+    }
+
+    /**
+     * Returns the representation of the diagram for the given path, as used for listing diagrams. It is built from
+     * the diagram's file name and metadata only, so the diagram's raw data is neither read nor unmarshalled.
+     */
+    public DiagramRepresentation getDiagramRepresentationByPath(final org.uberfire.backend.vfs.Path file) {
         if (accepts(file)) {
-            DefinitionSetService services = getServiceByPath(file);
+            final DefinitionSetService services = getServiceByPath(file);
             if (null != services) {
-                final String defSetId = getDefinitionSetId(services);
                 final String name = parseFileName(file,
                                                   services);
-                // Check if any metadata definition exist.
-                M metadata = null;
-                InputStream metaDataStream = loadMetadataForPath(file);
-                if (null != metaDataStream) {
-                    try {
-                        metadata = (M) services.getDiagramMarshaller().getMetadataMarshaller().unmarshall(metaDataStream);
-                    } catch (java.io.IOException e) {
-                        LOG.error("Cannot unmarshall metadata for diagram's path [" + file + "]",
-                                  e);
-                    }
-                }
-                if (null == metadata) {
-                    metadata = (M) buildMetadataInstance(file,
-                                                         defSetId,
-                                                         name);
-                }
-                metadata.setPath(file);
-                // Parse and load the diagram raw data.
-                final InputStream is = loadPath(file);
-                try {
-                    Graph<DefinitionSet, ?> graph = services.getDiagramMarshaller().unmarshall(metadata,
-                                                                                               is);
-                    DiagramFactory<M, ?> factory = factoryManager.registry().getDiagramFactory(graph.getContent().getDefinition(),
-                                                                                               getMetadataType());
-                    return (D) factory.build(name,
-                                             metadata,
-                                             graph);
-                } catch (java.io.IOException e) {
-                    LOG.error("Cannot unmarshall diagram for diagram's path [" + file + "]",
-                              e);
-                    return null;
-                }
+                final M metadata = loadMetadata(file,
+                                                services,
+                                                name);
+                return new DiagramRepresentationImpl.DiagramRepresentationBuilder(name,
+                                                                                  metadata).build();
+            }
+        }
+        throw new UnsupportedOperationException("Diagram format not supported [" + file + "]");
+    }
+
+    @SuppressWarnings("unchecked")
+    private D loadDiagramByPath(final org.uberfire.backend.vfs.Path file) {
+        DefinitionSetService services = getServiceByPath(file);
+        if (null != services) {
+            final String name = parseFileName(file,
+                                              services);
+            final M metadata = loadMetadata(file,
+                                            services,
+                                            name);
+            // Parse and load the diagram raw data.
+            final InputStream is = loadPath(file);
+            try {
+                Graph<DefinitionSet, ?> graph = services.getDiagramMarshaller().unmarshall(metadata,
+                                                                                           is);
+                DiagramFactory<M, ?> factory = factoryManager.registry().getDiagramFactory(graph.getContent().getDefinition(),
+                                                                                           getMetadataType());
+                return (D) factory.build(name,
+                                         metadata,
+                                         graph);
+            } catch (java.io.IOException e) {
+                LOG.error("Cannot unmarshall diagram for diagram's path [" + file + "]",
+                          e);
+                return null;
             }
         }
         throw new UnsupportedOperationException("Diagram format not supported [" + file + "]");
     }
 
+    @SuppressWarnings("unchecked")
+    private M loadMetadata(final org.uberfire.backend.vfs.Path file,
+                           final DefinitionSetService services,
+                           final String name) {
+        // Check if any metadata definition exist.
+        M metadata = null;
+        InputStream metaDataStream = loadMetadataForPath(file);
+        if (null != metaDataStream) {
+            try {
+                metadata = (M) services.getDiagramMarshaller().getMetadataMarshaller().unmarshall(metaDataStream);
+            } catch (java.io.IOException e) {
+                LOG.error("Cannot unmarshall metadata for diagram's path [" + file + "]",
+                          e);
+            }
+        }
+        if (null == metadata) {
+            metadata = (M) buildMetadataInstance(file,
+                                                 getDefinitionSetId(services),
+                                                 name);
+        }
+        metadata.setPath(file);
+        return metadata;
+    }
+
     private String parseFileName(final org.uberfire.backend.vfs.Path file,
                                  final DefinitionSetService services) {
         final String n = file.getFileName();
@@ -213,6 +250,19 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
         }
     }
 
+    /**
+     * Serializes the diagram's raw data as UTF-8, streaming it from the marshaller rather than building it as a string.
+     */
+    @SuppressWarnings("unchecked")
+    protected byte[] serializeRaw(final D diagram) throws java.io.IOException {
+        final DefinitionSetService services = getServiceById(diagram.getMetadata().getDefinitionSetId());
+        final DiagramMarshaller<Graph, Metadata, Diagram<Graph, Metadata>> marshaller = services.getDiagramMarshaller();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        marshaller.marshall((Diagram<Graph, Metadata>) diagram,
+                            output);
+        return output.toByteArray();
+    }
+
     @SuppressWarnings("unchecked")
     protected String[] serizalize(final D diagram) throws java.io.IOException {
         final String defSetId = diagram.getMetadata().getDefinitionSetId();
@@ -225,8 +275,12 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
         return new String[]{rawData, metadataRaw};
     }
 
+    /**
+     * Whether a diagram file of a supported format exists at the diagram's path. The file is not read.
+     */
     public boolean contains(final D item) {
-        return null != getDiagramByPath(item.getMetadata().getPath());
+        final org.uberfire.backend.vfs.Path path = item.getMetadata().getPath();
+        return accepts(path) && ioService.exists(Paths.convert(path));
     }
 
     public Collection<D> getDiagramsByPath(final org.uberfire.java.nio.file.Path root) {
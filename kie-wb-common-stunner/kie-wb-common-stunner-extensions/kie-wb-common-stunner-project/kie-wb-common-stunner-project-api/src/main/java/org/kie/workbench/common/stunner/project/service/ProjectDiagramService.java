@@ -18,6 +18,7 @@ package org.kie.workbench.common.stunner.project.service;
 
 import org.guvnor.common.services.shared.file.SupportsUpdate;
 import org.jboss.errai.bus.server.annotations.Remote;
+import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramRepresentation;
 import org.kie.workbench.common.stunner.core.service.BaseDiagramService;
 import org.kie.workbench.common.stunner.project.diagram.ProjectDiagram;
 import org.kie.workbench.common.stunner.project.diagram.ProjectMetadata;
@@ -34,4 +35,11 @@ public interface ProjectDiagramService extends BaseDiagramService<ProjectMetadat
                 final String defSetId,
                 final String projName,
                 final String projPkg);
+
+    /**
+     * Returns the representation of the Diagram by the given path, as used for listing diagrams, without
+     * unmarshalling the Diagram.
+     * Implementations can throw unchecked exceptions.
+     */
+    DiagramRepresentation getDiagramRepresentationByPath(final Path path);
 }
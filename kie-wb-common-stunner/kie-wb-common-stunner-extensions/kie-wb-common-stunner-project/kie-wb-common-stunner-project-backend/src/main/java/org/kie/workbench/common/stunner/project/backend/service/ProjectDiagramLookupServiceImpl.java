@@ -22,12 +22,14 @@ import javax.inject.Named;
 
 import org.jboss.errai.bus.server.annotations.Service;
 import org.kie.workbench.common.stunner.backend.service.AbstractDiagramLookupService;
+import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramRepresentation;
 import org.kie.workbench.common.stunner.project.diagram.ProjectDiagram;
 import org.kie.workbench.common.stunner.project.diagram.ProjectMetadata;
 import org.kie.workbench.common.stunner.project.service.ProjectDiagramLookupService;
 import org.kie.workbench.common.stunner.project.service.ProjectDiagramService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.uberfire.backend.vfs.Path;
 import org.uberfire.io.IOService;
 
 @ApplicationScoped
@@ -39,6 +41,8 @@ public class ProjectDiagramLookupServiceImpl
     private static final Logger LOG =
             LoggerFactory.getLogger(ProjectDiagramLookupServiceImpl.class.getName());
 
+    private final ProjectDiagramService diagramService;
+
     protected ProjectDiagramLookupServiceImpl() {
         this(null,
              null);
@@ -49,5 +53,11 @@ public class ProjectDiagramLookupServiceImpl
                                            final ProjectDiagramService diagramService) {
         super(ioService,
               diagramService);
+        this.diagramService = diagramService;
+    }
+
+    @Override
+    protected DiagramRepresentation getItemByPath(final Path path) {
+        return diagramService.getDiagramRepresentationByPath(path);
     }
 }
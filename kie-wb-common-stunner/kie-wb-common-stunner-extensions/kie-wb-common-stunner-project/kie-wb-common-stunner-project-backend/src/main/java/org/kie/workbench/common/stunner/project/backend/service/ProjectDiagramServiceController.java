@@ -128,9 +128,10 @@ class ProjectDiagramServiceController extends AbstractVFSDiagramService<ProjectM
                      final Map<String, ?> attributes,
                      final OpenOption... comment) {
         try {
-            String[] raw = serizalize(diagram);
+            // The diagram is serialized before writing, so a failure does not leave a partially written file.
+            final byte[] raw = serializeRaw(diagram);
             getIoService().write(Paths.convert(path),
-                                 raw[0],
+                                 raw,
                                  attributes,
                                  comment);
         } catch (Exception e) {
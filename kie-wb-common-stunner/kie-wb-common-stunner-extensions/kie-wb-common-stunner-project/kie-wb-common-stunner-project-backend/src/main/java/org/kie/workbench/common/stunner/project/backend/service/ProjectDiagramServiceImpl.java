@@ -33,6 +33,7 @@ import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.kie.workbench.common.stunner.core.api.DefinitionManager;
 import org.kie.workbench.common.stunner.core.api.FactoryManager;
 import org.kie.workbench.common.stunner.core.definition.service.DefinitionSetService;
+import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramRepresentation;
 import org.kie.workbench.common.stunner.core.registry.BackendRegistryFactory;
 import org.kie.workbench.common.stunner.project.diagram.ProjectDiagram;
 import org.kie.workbench.common.stunner.project.diagram.ProjectMetadata;
@@ -108,6 +109,11 @@ public class ProjectDiagramServiceImpl extends KieService<ProjectDiagram>
         return controller.getDiagramByPath(path);
     }
 
+    @Override
+    public DiagramRepresentation getDiagramRepresentationByPath(final Path path) {
+        return controller.getDiagramRepresentationByPath(path);
+    }
+
     @Override
     public boolean accepts(final Path path) {
         return controller.accepts(path);
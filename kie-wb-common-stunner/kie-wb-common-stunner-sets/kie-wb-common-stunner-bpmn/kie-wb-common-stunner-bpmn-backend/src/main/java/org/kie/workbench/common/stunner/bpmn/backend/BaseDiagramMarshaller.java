@@ -16,8 +16,10 @@
 
 package org.kie.workbench.common.stunner.bpmn.backend;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -93,16 +95,30 @@ public abstract class BaseDiagramMarshaller<D> implements DiagramMarshaller<Grap
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public String marshall(final Diagram diagram) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            marshall(diagram,
+                     outputStream);
+        } catch (IOException e) {
+            // Already logged.
+            return null;
+        }
+        return outputStream.toString("UTF-8");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void marshall(final Diagram diagram,
+                         final OutputStream outputStream) throws IOException {
         LOG.debug("Starting diagram marshalling...");
 
         final Bpmn2Marshaller marshaller = new Bpmn2Marshaller(definitionManager,
                                                                oryxManager);
-        String result = null;
         try {
             // Marshall the diagram definition
-            result = marshaller.marshall(diagram);
+            marshaller.marshall(diagram,
+                                outputStream);
 
             // Update diagram's settings.
             updateRootUUID(diagram.getMetadata(),
@@ -110,10 +126,10 @@ public abstract class BaseDiagramMarshaller<D> implements DiagramMarshaller<Grap
         } catch (IOException e) {
             LOG.error("Error marshalling file.",
                       e);
+            throw e;
         }
 
         LOG.debug("Diagram marshalling finished successfully.");
-        return result;
     }
 
     @Override
@@ -18,10 +18,10 @@ package org.kie.workbench.common.stunner.bpmn.backend.marshall.json;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.HashMap;
 
 import bpsim.impl.BpsimFactoryImpl;
-import org.apache.commons.lang3.StringEscapeUtils;
 import org.jboss.drools.impl.DroolsFactoryImpl;
 import org.kie.workbench.common.stunner.bpmn.backend.legacy.Bpmn2JsonUnmarshaller;
 import org.kie.workbench.common.stunner.bpmn.backend.legacy.resource.JBPMBpmn2ResourceImpl;
@@ -45,15 +45,27 @@ public class Bpmn2Marshaller extends Bpmn2JsonUnmarshaller {
     }
 
     public String marshall(final Diagram<Graph, Metadata> diagram) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        marshall(diagram,
+                 outputStream);
+        return outputStream.toString("UTF-8");
+    }
+
+    /**
+     * Writes the diagram's BPMN2 definition into the output stream, which is not closed.
+     */
+    public void marshall(final Diagram<Graph, Metadata> diagram,
+                         final OutputStream outputStream) throws IOException {
         DroolsFactoryImpl.init();
         BpsimFactoryImpl.init();
         BPMN2JsonParser parser = createParser(diagram);
         JBPMBpmn2ResourceImpl res = (JBPMBpmn2ResourceImpl) super.unmarshall(parser,
                                                                              null);
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        res.save(outputStream,
+        // Unescape the html entities as the definition is written, rather than on the whole written definition.
+        HtmlUnescapingOutputStream unescapingOutputStream = new HtmlUnescapingOutputStream(outputStream);
+        res.save(unescapingOutputStream,
                  new HashMap<>());
-        return StringEscapeUtils.unescapeHtml4(outputStream.toString("UTF-8"));
+        unescapingOutputStream.finish();
     }
 
     private BPMN2JsonParser createParser(final Diagram<Graph, Metadata> diagram) {
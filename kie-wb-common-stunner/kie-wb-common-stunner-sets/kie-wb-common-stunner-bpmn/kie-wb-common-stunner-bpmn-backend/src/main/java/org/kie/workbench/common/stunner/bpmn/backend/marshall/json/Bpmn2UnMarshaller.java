@@ -34,7 +34,6 @@ import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
 import org.eclipse.emf.ecore.xmi.XMLResource;
 import org.jboss.drools.DroolsPackage;
 import org.jboss.drools.impl.DroolsPackageImpl;
-import org.jboss.drools.util.DroolsResourceFactoryImpl;
 import org.kie.workbench.common.stunner.bpmn.backend.legacy.Bpmn2JsonMarshaller;
 import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.builder.BPMNGraphGenerator;
 import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.builder.GraphObjectBuilderFactory;
@@ -53,19 +52,6 @@ import org.kie.workbench.common.stunner.core.util.UUID;
 
 public class Bpmn2UnMarshaller extends Bpmn2JsonMarshaller {
 
-    final static ResourceSet resourceSet = new ResourceSetImpl();
-
-    static {
-        resourceSet.getPackageRegistry().put(DroolsPackage.eNS_URI,
-                                             DroolsPackage.eINSTANCE);
-        resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put(Resource.Factory.Registry.DEFAULT_EXTENSION,
-                                                                                new DroolsResourceFactoryImpl());
-        resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put(Resource.Factory.Registry.DEFAULT_EXTENSION,
-                                                                                new Bpmn2ResourceFactoryImpl());
-        resourceSet.getPackageRegistry().put("http://www.omg.org/spec/BPMN/20100524/MODEL",
-                                             Bpmn2Package.eINSTANCE);
-    }
-
     BPMNGraphGenerator bpmnGraphGenerator;
 
     public Bpmn2UnMarshaller(final GraphObjectBuilderFactory elementBuilderFactory,
@@ -91,22 +77,41 @@ public class Bpmn2UnMarshaller extends Bpmn2JsonMarshaller {
     }
 
     public Graph unmarshall(final String content) throws IOException {
+        // Each call loads the process into a resource of its own, which is unloaded once the graph has been built, so
+        // no parsed process remains reachable from the resource set.
+        final ResourceSet resourceSet = createResourceSet();
         final XMLResource outResource = (XMLResource) resourceSet.createResource(URI.createURI("inputStream://" + UUID.uuid() + ".xml"));
-        outResource.getDefaultLoadOptions().put(XMLResource.OPTION_ENCODING,
-                                                "UTF-8");
-        outResource.setEncoding("UTF-8");
+        try {
+            outResource.getDefaultLoadOptions().put(XMLResource.OPTION_ENCODING,
+                                                    "UTF-8");
+            outResource.setEncoding("UTF-8");
+
+            final Map<String, Object> options = new HashMap<String, Object>();
+            options.put(XMLResource.OPTION_ENCODING,
+                        "UTF-8");
+            outResource.load(new BufferedInputStream(new ByteArrayInputStream(content.getBytes("UTF-8"))),
+                             options);
 
-        final Map<String, Object> options = new HashMap<String, Object>();
-        options.put(XMLResource.OPTION_ENCODING,
-                    "UTF-8");
-        outResource.load(new BufferedInputStream(new ByteArrayInputStream(content.getBytes("UTF-8"))),
-                         options);
+            final DocumentRoot root = (DocumentRoot) outResource.getContents().get(0);
+            final Definitions definitions = root.getDefinitions();
 
-        final DocumentRoot root = (DocumentRoot) outResource.getContents().get(0);
-        final Definitions definitions = root.getDefinitions();
+            return unmarshall(definitions,
+                              null);
+        } finally {
+            outResource.unload();
+            resourceSet.getResources().remove(outResource);
+        }
+    }
 
-        return unmarshall(definitions,
-                          null);
+    protected ResourceSet createResourceSet() {
+        final ResourceSet resourceSet = new ResourceSetImpl();
+        resourceSet.getPackageRegistry().put(DroolsPackage.eNS_URI,
+                                             DroolsPackage.eINSTANCE);
+        resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put(Resource.Factory.Registry.DEFAULT_EXTENSION,
+                                                                                new Bpmn2ResourceFactoryImpl());
+        resourceSet.getPackageRegistry().put("http://www.omg.org/spec/BPMN/20100524/MODEL",
+                                             Bpmn2Package.eINSTANCE);
+        return resourceSet;
     }
 
     public Graph unmarshall(final Definitions def,
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.backend.marshall.json;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.lang3.StringEscapeUtils;
+
+/**
+ * Unescapes the HTML 4 entities of the UTF-8 content written through it, with the same result as
+ * {@link StringEscapeUtils#unescapeHtml4(String)} on the whole content. As entities are ASCII only, and no byte of a
+ * multi-byte UTF-8 sequence is ASCII, the content is processed as bytes and only the entities are decoded.
+ * Sequences longer than {@link #MAX_ENTITY_LENGTH}, such as zero padded numeric entities, are written as they are.
+ */
+class HtmlUnescapingOutputStream extends FilterOutputStream {
+
+    // Longer than any named or numeric entity.
+    private static final int MAX_ENTITY_LENGTH = 32;
+
+    private final StringBuilder entity = new StringBuilder(MAX_ENTITY_LENGTH);
+
+    HtmlUnescapingOutputStream(final OutputStream out) {
+        super(out);
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        if (entity.length() > 0) {
+            if (b == ';') {
+                entity.append(';');
+                out.write(StringEscapeUtils.unescapeHtml4(entity.toString()).getBytes(StandardCharsets.UTF_8));
+                entity.setLength(0);
+                return;
+            }
+            if (isEntityCharacter(b) && entity.length() < MAX_ENTITY_LENGTH) {
+                entity.append((char) b);
+                return;
+            }
+            writeEntity();
+        }
+        if (b == '&') {
+            entity.append('&');
+        } else {
+            out.write(b);
+        }
+    }
+
+    @Override
+    public void write(final byte[] b,
+                      final int off,
+                      final int len) throws IOException {
+        int start = off;
+        final int end = off + len;
+        for (int i = off; i < end; i++) {
+            if (entity.length() > 0 || b[i] == '&') {
+                // Write the run of plain content as a whole.
+                out.write(b,
+                          start,
+                          i - start);
+                write(b[i]);
+                start = i + 1;
+            }
+        }
+        out.write(b,
+                  start,
+                  end - start);
+    }
+
+    /**
+     * Writes any pending content, without closing the underlying stream.
+     */
+    public void finish() throws IOException {
+        writeEntity();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writeEntity();
+        super.close();
+    }
+
+    // Writes the characters of a sequence that turned out not to be an entity as they are.
+    private void writeEntity() throws IOException {
+        for (int i = 0; i < entity.length(); i++) {
+            out.write(entity.charAt(i));
+        }
+        entity.setLength(0);
+    }
+
+    private static boolean isEntityCharacter(final int b) {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9') || b == '#';
+    }
+}
@@ -20,7 +20,9 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Stack;
 
 import org.codehaus.jackson.Base64Variant;
@@ -55,12 +57,16 @@ import org.kie.workbench.common.stunner.core.graph.processing.index.Index;
 import org.kie.workbench.common.stunner.core.rule.RuleManager;
 import org.kie.workbench.common.stunner.core.rule.RuleViolation;
 import org.kie.workbench.common.stunner.core.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Support for a basic single process hierarchy
  */
 public class BPMNGraphGenerator extends JsonGenerator {
 
+    private static final Logger LOG = LoggerFactory.getLogger(BPMNGraphGenerator.class);
+
     private final GraphObjectBuilderFactory bpmnGraphBuilderFactory;
     private final DefinitionManager definitionManager;
     private final FactoryManager factoryManager;
@@ -74,6 +80,7 @@ public class BPMNGraphGenerator extends JsonGenerator {
     private final Stack<GraphObjectBuilder> nodeBuilders = new Stack<>();
     private final Stack<GraphObjectParser> parsers = new Stack<GraphObjectParser>();
     private final Collection<GraphObjectBuilder<?, ?>> builders = new LinkedList<GraphObjectBuilder<?, ?>>();
+    private final Map<String, GraphObjectBuilder<?, ?>> buildersByNodeId = new HashMap<String, GraphObjectBuilder<?, ?>>();
     Graph<DefinitionSet, Node> graph;
     boolean isClosed;
 
@@ -140,6 +147,11 @@ public class BPMNGraphGenerator extends JsonGenerator {
     @SuppressWarnings("unchecked")
     public void close() throws IOException {
         logBuilders();
+        // Index the builders, as each node looks up the builders of its outgoing and child elements.
+        for (GraphObjectBuilder<?, ?> builder : builders) {
+            buildersByNodeId.putIfAbsent(((AbstractObjectBuilder<?, ?>) builder).nodeId,
+                                         builder);
+        }
         this.graph = (Graph<DefinitionSet, Node>) factoryManager.newElement(UUID.uuid(),
                                                                             diagramDefinitionSetClass);
         // TODO: Where are the BPMN diagram bounds in the Oryx json structure? Exist?
@@ -211,6 +223,11 @@ public class BPMNGraphGenerator extends JsonGenerator {
             return builders;
         }
 
+        @Override
+        public GraphObjectBuilder<?, ?> getBuilder(final String nodeId) {
+            return buildersByNodeId.get(nodeId);
+        }
+
         @Override
         public DefinitionManager getDefinitionManager() {
             return definitionManager;
@@ -244,6 +261,9 @@ public class BPMNGraphGenerator extends JsonGenerator {
 
     // For local testing...
     private void logBuilders() {
+        if (!LOG.isDebugEnabled()) {
+            return;
+        }
         log("Logging builders at close time...");
         for (GraphObjectBuilder<?, ?> builder : builders) {
             log(builder.toString());
@@ -588,7 +608,7 @@ public class BPMNGraphGenerator extends JsonGenerator {
     }
 
     private void log(final String message) {
-        System.out.println(message);
+        LOG.debug(message);
     }
 
     /***********************************************************************************
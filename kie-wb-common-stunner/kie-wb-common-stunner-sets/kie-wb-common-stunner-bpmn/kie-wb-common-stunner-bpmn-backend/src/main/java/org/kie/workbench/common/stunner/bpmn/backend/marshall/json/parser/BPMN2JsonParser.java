@@ -141,7 +141,6 @@ public class BPMN2JsonParser extends JsonParserMinimalBase {
         }
         // Initialize all the element parsers added in the tree.
         BPMN2JsonParser.this.rootParser.initialize(parsingContext);
-        System.out.println("End of children and view traverse");
     }
 
 
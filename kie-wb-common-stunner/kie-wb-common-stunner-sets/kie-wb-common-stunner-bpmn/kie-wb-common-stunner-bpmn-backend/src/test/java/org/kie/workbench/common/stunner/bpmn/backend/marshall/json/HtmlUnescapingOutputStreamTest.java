@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.backend.marshall.json;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.lang3.StringEscapeUtils;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class HtmlUnescapingOutputStreamTest {
+
+    @Test
+    public void testUnescapesAsUnescapeHtml4() throws Exception {
+        assertUnescaped("<task name=\"a &amp; b\"/>");
+        assertUnescaped("age &lt; 10 &amp;&amp; age &gt; 1");
+        assertUnescaped("&quot;quoted&quot; &eacute;t&eacute; &euro; café 中");
+        assertUnescaped("line&#10;feed&#xA;tab&#9;");
+        assertUnescaped("&amp;lt; is not unescaped twice");
+        assertUnescaped("&unknown; & alone &; &amp &#; &#xZZ; &&amp;");
+        assertUnescaped("&#x1F600; &#65abc; &#xD800;");
+        assertUnescaped("ends with &amp");
+        assertUnescaped("ends with &");
+    }
+
+    @Test
+    public void testUnescapesAcrossWrites() throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final HtmlUnescapingOutputStream unescapingOutput = new HtmlUnescapingOutputStream(output);
+        unescapingOutput.write("a &a".getBytes(StandardCharsets.UTF_8));
+        unescapingOutput.write("mp; b &l".getBytes(StandardCharsets.UTF_8));
+        unescapingOutput.write('t');
+        unescapingOutput.write(";".getBytes(StandardCharsets.UTF_8));
+        unescapingOutput.finish();
+
+        assertEquals("a & b <",
+                     output.toString("UTF-8"));
+    }
+
+    private static void assertUnescaped(final String content) throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final HtmlUnescapingOutputStream unescapingOutput = new HtmlUnescapingOutputStream(output);
+        final byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        unescapingOutput.write(bytes,
+                               0,
+                               bytes.length);
+        unescapingOutput.finish();
+
+        assertEquals(StringEscapeUtils.unescapeHtml4(content),
+                     output.toString("UTF-8"));
+    }
+}
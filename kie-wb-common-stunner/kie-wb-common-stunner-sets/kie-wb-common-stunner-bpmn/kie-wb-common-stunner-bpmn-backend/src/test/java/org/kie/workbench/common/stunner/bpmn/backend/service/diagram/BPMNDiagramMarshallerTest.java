@@ -17,14 +17,18 @@
 package org.kie.workbench.common.stunner.bpmn.backend.service.diagram;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Scanner;
 import javax.enterprise.inject.spi.BeanManager;
 
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -33,6 +37,7 @@ import org.kie.workbench.common.stunner.backend.definition.factory.TestScopeMode
 import org.kie.workbench.common.stunner.backend.service.XMLEncoderDiagramMetadataMarshaller;
 import org.kie.workbench.common.stunner.bpmn.BPMNDefinitionSet;
 import org.kie.workbench.common.stunner.bpmn.backend.BPMNDiagramMarshaller;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.Bpmn2UnMarshaller;
 import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.builder.BPMNGraphObjectBuilderFactory;
 import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.oryx.Bpmn2OryxIdMappings;
 import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.oryx.Bpmn2OryxManager;
@@ -1341,6 +1346,128 @@ public class BPMNDiagramMarshallerTest {
                      diagram.getMetadata().getTitle());
     }
 
+    @Test
+    public void testUnmarshallAndMarshallLargeProcess() throws Exception {
+        final int taskCount = 200;
+        Diagram<Graph, Metadata> diagram = unmarshall(new ByteArrayInputStream(buildSequentialProcess(taskCount).getBytes("UTF-8")));
+        // The diagram, the start and end events and the tasks.
+        assertDiagram(diagram,
+                      taskCount + 3);
+        String result = tested.marshall(diagram);
+        assertDiagram(result,
+                      1,
+                      taskCount + 2,
+                      taskCount + 1);
+    }
+
+    // A process with a start event, a sequence of script tasks and an end event.
+    private static String buildSequentialProcess(final int taskCount) {
+        final StringBuilder process = new StringBuilder();
+        final StringBuilder shapes = new StringBuilder();
+        process.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<bpmn2:definitions xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" xmlns=\"http://www.omg.org/bpmn20\" ")
+                .append("xmlns:bpmn2=\"http://www.omg.org/spec/BPMN/20100524/MODEL\" xmlns:bpmndi=\"http://www.omg.org/spec/BPMN/20100524/DI\" ")
+                .append("xmlns:dc=\"http://www.omg.org/spec/DD/20100524/DC\" xmlns:di=\"http://www.omg.org/spec/DD/20100524/DI\" ")
+                .append("xmlns:drools=\"http://www.jboss.org/drools\" id=\"_large\" expressionLanguage=\"http://www.mvel.org/2.0\" ")
+                .append("targetNamespace=\"http://www.omg.org/bpmn20\" typeLanguage=\"http://www.java.com/javaTypes\">\n")
+                .append("<bpmn2:process id=\"large.Process\" drools:version=\"1.0\" name=\"Large process\" isExecutable=\"true\">\n")
+                .append("<bpmn2:startEvent id=\"_start\" name=\"\"><bpmn2:outgoing>_flow0</bpmn2:outgoing></bpmn2:startEvent>\n");
+        appendShape(shapes,
+                    "_start",
+                    0,
+                    30);
+        String previous = "_start";
+        for (int i = 1; i <= taskCount; i++) {
+            final String task = "_task" + i;
+            process.append("<bpmn2:scriptTask id=\"").append(task).append("\" name=\"task").append(i)
+                    .append("\" scriptFormat=\"http://www.java.com/java\">")
+                    .append("<bpmn2:incoming>_flow").append(i - 1).append("</bpmn2:incoming>")
+                    .append("<bpmn2:outgoing>_flow").append(i).append("</bpmn2:outgoing>")
+                    .append("<bpmn2:script><![CDATA[]]></bpmn2:script></bpmn2:scriptTask>\n");
+            appendFlow(process,
+                       shapes,
+                       i - 1,
+                       previous,
+                       task);
+            appendShape(shapes,
+                        task,
+                        i,
+                        80);
+            previous = task;
+        }
+        process.append("<bpmn2:endEvent id=\"_end\" name=\"\"><bpmn2:incoming>_flow").append(taskCount)
+                .append("</bpmn2:incoming></bpmn2:endEvent>\n");
+        appendFlow(process,
+                   shapes,
+                   taskCount,
+                   previous,
+                   "_end");
+        appendShape(shapes,
+                    "_end",
+                    taskCount + 1,
+                    30);
+        return process.append("</bpmn2:process>\n")
+                .append("<bpmndi:BPMNDiagram id=\"_largeDiagram\"><bpmndi:BPMNPlane id=\"_largePlane\" bpmnElement=\"large.Process\">\n")
+                .append(shapes)
+                .append("</bpmndi:BPMNPlane></bpmndi:BPMNDiagram>\n")
+                .append("</bpmn2:definitions>\n")
+                .toString();
+    }
+
+    private static void appendFlow(final StringBuilder process,
+                                   final StringBuilder shapes,
+                                   final int index,
+                                   final String source,
+                                   final String target) {
+        process.append("<bpmn2:sequenceFlow id=\"_flow").append(index).append("\" sourceRef=\"").append(source)
+                .append("\" targetRef=\"").append(target).append("\"/>\n");
+        shapes.append("<bpmndi:BPMNEdge id=\"_flow").append(index).append("_edge\" bpmnElement=\"_flow").append(index).append("\">")
+                .append("<di:waypoint xsi:type=\"dc:Point\" x=\"").append(index * 120 + 80).append(".0\" y=\"40.0\"/>")
+                .append("<di:waypoint xsi:type=\"dc:Point\" x=\"").append(index * 120 + 120).append(".0\" y=\"40.0\"/>")
+                .append("</bpmndi:BPMNEdge>\n");
+    }
+
+    private static void appendShape(final StringBuilder shapes,
+                                    final String element,
+                                    final int index,
+                                    final int size) {
+        shapes.append("<bpmndi:BPMNShape id=\"").append(element).append("_shape\" bpmnElement=\"").append(element).append("\">")
+                .append("<dc:Bounds height=\"").append(size).append(".0\" width=\"").append(size).append(".0\" x=\"")
+                .append(index * 120).append(".0\" y=\"20.0\"/>")
+                .append("</bpmndi:BPMNShape>\n");
+    }
+
+    @Test
+    public void testUnmarshallDoesNotRetainResources() throws Exception {
+        final String content = new Scanner(loadStream(BPMN_BASIC),
+                                           "UTF-8").useDelimiter("\\A").next();
+        // A single resource set for all the calls, as the resource set used to be shared.
+        final ResourceSet resourceSet = new ResourceSetImpl();
+        for (int i = 0; i < 1000; i++) {
+            final Bpmn2UnMarshaller unmarshaller = new Bpmn2UnMarshaller(objectBuilderFactory,
+                                                                         definitionManager,
+                                                                         applicationFactoryManager,
+                                                                         rulesManager,
+                                                                         oryxManager,
+                                                                         commandManager,
+                                                                         commandFactory,
+                                                                         new MapIndexBuilder(),
+                                                                         BPMNDefinitionSet.class,
+                                                                         BPMNDiagramImpl.class) {
+                @Override
+                protected ResourceSet createResourceSet() {
+                    final ResourceSet defaultResourceSet = super.createResourceSet();
+                    resourceSet.getPackageRegistry().putAll(defaultResourceSet.getPackageRegistry());
+                    resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().putAll(defaultResourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap());
+                    return resourceSet;
+                }
+            };
+            final Graph graph = unmarshaller.unmarshall(content);
+            assertNotNull(graph.getNode("810797AB-7D09-4E1F-8A5B-96C424E4B031"));
+        }
+        assertTrue(resourceSet.getResources().isEmpty());
+    }
+
     @Test
     public void testMarshallBasic() throws Exception {
         Diagram<Graph, Metadata> diagram = unmarshall(BPMN_BASIC);
@@ -1675,6 +1802,20 @@ public class BPMNDiagramMarshallerTest {
                                            "10;]]></bpmn2:conditionExpression>"));
     }
 
+    @Test
+    public void testMarshallSequenceFlowToOutputStream() throws Exception {
+        Diagram<Graph, Metadata> diagram = unmarshall(BPMN_SEQUENCEFLOW);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        tested.marshall(diagram,
+                        output);
+        String result = output.toString("UTF-8");
+        assertEquals(tested.marshall(diagram),
+                     result);
+        assertTrue(result.contains("language=\"http://www.java.com/java\"><![CDATA[age\n" +
+                                           "<\n" +
+                                           "10;]]></bpmn2:conditionExpression>"));
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void testMarshallBusinessRuleTask() throws Exception {